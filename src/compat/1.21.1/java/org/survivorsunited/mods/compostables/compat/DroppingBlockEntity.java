@@ -0,0 +1,21 @@
+package org.survivorsunited.mods.compostables.compat;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Block entity that spills its contents when its block is removed, for 1.21.1
+ * DroppingBlockWithEntity calls dropContents from the block.
+ */
+public abstract class DroppingBlockEntity extends BlockEntity {
+	protected DroppingBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state) {
+		super(type, pos, state);
+	}
+
+	/**
+	 * Drop everything held into the world
+	 */
+	protected abstract void dropContents();
+}
@@ -0,0 +1,24 @@
+package org.survivorsunited.mods.compostables.compat;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.BlockWithEntity;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Block whose block entity spills its contents when the block is removed, for 1.21.1
+ * Before 1.21.5 the block is told about the removal, before its block entity goes.
+ */
+public abstract class DroppingBlockWithEntity extends BlockWithEntity {
+	protected DroppingBlockWithEntity(Settings settings) {
+		super(settings);
+	}
+
+	@Override
+	protected void onStateReplaced(BlockState state, World world, BlockPos pos, BlockState newState, boolean moved) {
+		if (!state.isOf(newState.getBlock()) && world.getBlockEntity(pos) instanceof DroppingBlockEntity blockEntity) {
+			blockEntity.dropContents();
+		}
+		super.onStateReplaced(state, world, pos, newState, moved);
+	}
+}
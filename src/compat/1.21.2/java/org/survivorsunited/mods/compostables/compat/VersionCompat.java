@@ -0,0 +1,60 @@
+package org.survivorsunited.mods.compostables.compat;
+
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.chunk.Chunk;
+import org.survivorsunited.mods.compostables.mixin.compat.VillagerEntityAccessor;
+
+/**
+ * Calls whose Minecraft API differs between versions, for 1.21.2 to 1.21.4
+ * Every src/compat directory provides the same methods.
+ */
+public final class VersionCompat {
+	private VersionCompat() {
+	}
+
+	public static VillagerProfession profession(VillagerEntity villager) {
+		return villager.getVillagerData().getProfession();
+	}
+
+	/**
+	 * Whether the villager wants the item and has room for it
+	 */
+	public static boolean canGather(ServerWorld world, VillagerEntity villager, ItemStack stack) {
+		return villager.canGather(world, stack);
+	}
+
+	/**
+	 * Whether every villager picks the item up, whatever its profession
+	 */
+	public static boolean villagersPickUp(ItemStack stack) {
+		return VillagerEntityAccessor.getGatherableItems().contains(stack.getItem());
+	}
+
+	/**
+	 * Block settings for a block registered under the key
+	 */
+	public static AbstractBlock.Settings blockSettings(AbstractBlock.Settings settings, RegistryKey<Block> key) {
+		return settings.registryKey(key);
+	}
+
+	/**
+	 * Settings for a block's item, named after the block
+	 */
+	public static Item.Settings blockItemSettings(RegistryKey<Item> key) {
+		return new Item.Settings().registryKey(key).useBlockPrefixedTranslationKey();
+	}
+
+	/**
+	 * Mark a chunk for saving after its attachments were changed in place
+	 */
+	public static void markNeedsSaving(Chunk chunk) {
+		chunk.markNeedsSaving();
+	}
+}
@@ -0,0 +1,29 @@
+package org.survivorsunited.mods.compostables.mixin.compat;
+
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.survivorsunited.mods.compostables.compost.ComposterRemovals;
+
+/**
+ * Tells ComposterRemovals when a composter or an industrial composter is
+ * broken or replaced
+ * The composter block doesn't override onStateReplaced, so the hook sits on
+ * AbstractBlock and checks the old state first.
+ */
+@Mixin(AbstractBlock.class)
+public abstract class ComposterRemovalMixin {
+	
+	@Inject(method = "onStateReplaced", at = @At("HEAD"))
+	private void forgetRemovedComposter(BlockState state, World world, BlockPos pos, BlockState newState, boolean moved, CallbackInfo ci) {
+		if (ComposterRemovals.tracks(state) && !newState.isOf(state.getBlock()) && world instanceof ServerWorld serverWorld) {
+			ComposterRemovals.onRemoved(serverWorld, pos);
+		}
+	}
+}
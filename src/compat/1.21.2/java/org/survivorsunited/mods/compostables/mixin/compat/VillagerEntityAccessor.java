@@ -0,0 +1,20 @@
+package org.survivorsunited.mods.compostables.mixin.compat;
+
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.item.Item;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+import java.util.Set;
+
+/**
+ * Accessor for the items every villager picks up, hardcoded before 1.21.5
+ */
+@Mixin(VillagerEntity.class)
+public interface VillagerEntityAccessor {
+	
+	@Accessor("GATHERABLE_ITEMS")
+	static Set<Item> getGatherableItems() {
+		throw new AssertionError();
+	}
+}
@@ -0,0 +1,26 @@
+package org.survivorsunited.mods.compostables.compat;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.util.math.BlockPos;
+
+/**
+ * Block entity that spills its contents when its block is removed, for 1.21.5 and later
+ */
+public abstract class DroppingBlockEntity extends BlockEntity {
+	protected DroppingBlockEntity(BlockEntityType<?> type, BlockPos pos, BlockState state) {
+		super(type, pos, state);
+	}
+
+	/**
+	 * Drop everything held into the world
+	 */
+	protected abstract void dropContents();
+
+	@Override
+	public void onBlockReplaced(BlockPos pos, BlockState oldState) {
+		super.onBlockReplaced(pos, oldState);
+		dropContents();
+	}
+}
@@ -0,0 +1,13 @@
+package org.survivorsunited.mods.compostables.compat;
+
+import net.minecraft.block.BlockWithEntity;
+
+/**
+ * Block whose block entity spills its contents when the block is removed, for 1.21.5 and later
+ * From 1.21.5 the block entity is told about the removal itself, see DroppingBlockEntity.
+ */
+public abstract class DroppingBlockWithEntity extends BlockWithEntity {
+	protected DroppingBlockWithEntity(Settings settings) {
+		super(settings);
+	}
+}
@@ -0,0 +1,29 @@
+package org.survivorsunited.mods.compostables.mixin.compat;
+
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.BlockState;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.survivorsunited.mods.compostables.compost.ComposterRemovals;
+
+/**
+ * Tells ComposterRemovals when a composter or an industrial composter is
+ * broken or replaced
+ * The composter block doesn't override onStateReplaced, so the hook sits on
+ * AbstractBlock and checks the old state first. Since 1.21.5 the new state is
+ * already in the world when this runs.
+ */
+@Mixin(AbstractBlock.class)
+public abstract class ComposterRemovalMixin {
+	
+	@Inject(method = "onStateReplaced", at = @At("HEAD"))
+	private void forgetRemovedComposter(BlockState state, ServerWorld world, BlockPos pos, boolean moved, CallbackInfo ci) {
+		if (ComposterRemovals.tracks(state) && !world.getBlockState(pos).isOf(state.getBlock())) {
+			ComposterRemovals.onRemoved(world, pos);
+		}
+	}
+}
@@ -0,0 +1,15 @@
+package org.survivorsunited.mods.compostables.gametest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * World block updates that set a composter state, counted by WorldMixin
+ * Unlike CompostablesMetrics.COMPOSTER_UPDATES this includes vanilla's own
+ * updates (hopper inserts, completion ticks and emptying).
+ */
+public final class BlockUpdateCounter {
+	public static final LongAdder COMPOSTER_UPDATES = new LongAdder();
+
+	private BlockUpdateCounter() {
+	}
+}
@@ -0,0 +1,390 @@
+package org.survivorsunited.mods.compostables.gametest;
+
+import net.fabricmc.fabric.api.event.player.UseBlockCallback;
+import net.fabricmc.fabric.api.gametest.v1.GameTest;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.ComposterBlock;
+import net.minecraft.block.DispenserBlock;
+import net.minecraft.block.HopperBlock;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.entity.EntityType;
+import net.minecraft.entity.ai.brain.MemoryModuleType;
+import net.minecraft.entity.ai.brain.task.FarmerWorkTask;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.inventory.Inventory;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.registry.Registries;
+import net.minecraft.test.TestContext;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Hand;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.GlobalPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.village.VillagerProfession;
+import net.minecraft.world.GameMode;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.gametest.mixin.VillagerWorkTaskInvoker;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Composter farm load scenarios
+ * A 4x4 grid of composters is fed with the mod's block items (wool, carpets,
+ * grass) through the mod's own paths: player uses go through UseBlockCallback
+ * first, as in a real interaction, and pipe-style inserts go through the
+ * Transfer API storage. Hopper and dropper scenarios measure vanilla's
+ * automation, where the mod only flushes pending levels, for comparison. In
+ * the farmer scenario a farmer stands on each composter and works at it as
+ * its job site, composting its seeds and the mod's extra gatherables. Each scenario
+ * runs for a fixed number of ticks and records the composter block updates in
+ * the world, the mod's own updates, the player use cost and the mean MSPT of
+ * its own ticks into a JSON report. Scenarios run one after another in a
+ * single test so their counters don't overlap.
+ *
+ * transferInsertIntoEmptyComposter checks that a Transfer API insert keeps
+ * vanilla's rule that the first item into an empty composter always composts.
+ */
+public class ComposterLoadGameTest {
+	private static final int GRID = 4;
+	private static final int COMPOSTERS = GRID * GRID;
+	private static final int SCENARIO_TICKS = 200;
+	private static final int TRANSFER_BATCH = 8;
+	private static final int DROPPER_INTERVAL = 4;
+	private static final Item[] FEED = { Items.WHITE_WOOL, Items.WHITE_CARPET, Items.GRASS_BLOCK };
+	/** Farmer gatherables: vanilla's seeds and two of the mod's additions */
+	private static final Item[] FARMER_FEED = { Items.WHEAT_SEEDS, Items.SPIDER_EYE, Items.ROTTEN_FLESH };
+
+	private interface Scenario {
+		String name();
+
+		void setup(TestContext context);
+
+		void tick(TestContext context, int tick);
+
+		/**
+		 * Remove anything setup added besides blocks
+		 */
+		default void teardown(TestContext context) {
+		}
+	}
+
+	@GameTest(maxTicks = 6 * SCENARIO_TICKS + 100)
+	public void composterFarmLoad(TestContext context) {
+		List<Scenario> scenarios = List.of(
+			playerUse("player_use", false),
+			playerUse("player_bulk_use", true),
+			transferInsert(),
+			hopperFeed(),
+			dropperFeed(),
+			farmerWork());
+		LoadReport report = new LoadReport();
+		TickTimer.start();
+
+		int[] state = { 0, 0 }; // scenario index, tick within scenario
+		LoadSample[] start = new LoadSample[1];
+		context.runAtEveryTick(() -> {
+			if (state[0] >= scenarios.size()) {
+				return;
+			}
+
+			// The scenarios measure the mod's opt-in paths, and player spam is the worst
+			// case being measured, so the limiter stays off. lazyComposterCompletion is
+			// read at startup and can't be switched here. The config is put back before
+			// anything else sees it
+			boolean bulkCompostOnSneak = CompostablesConfig.bulkCompostOnSneak;
+			boolean coalesceComposterUpdates = CompostablesConfig.coalesceComposterUpdates;
+			boolean farmerComposting = CompostablesConfig.farmerComposting;
+			boolean farmerItemBuckets = CompostablesConfig.farmerItemBuckets;
+			boolean rateLimit = CompostablesConfig.rateLimitEnabled;
+			CompostablesConfig.bulkCompostOnSneak = true;
+			CompostablesConfig.coalesceComposterUpdates = true;
+			CompostablesConfig.farmerComposting = true;
+			CompostablesConfig.farmerItemBuckets = true;
+			CompostablesConfig.rateLimitEnabled = false;
+			try {
+				tickScenario(context, scenarios, report, state, start);
+			} finally {
+				CompostablesConfig.bulkCompostOnSneak = bulkCompostOnSneak;
+				CompostablesConfig.coalesceComposterUpdates = coalesceComposterUpdates;
+				CompostablesConfig.farmerComposting = farmerComposting;
+				CompostablesConfig.farmerItemBuckets = farmerItemBuckets;
+				CompostablesConfig.rateLimitEnabled = rateLimit;
+			}
+		});
+	}
+
+	/**
+	 * One low-chance item piped into each empty composter must always add a level
+	 */
+	@GameTest
+	public void transferInsertIntoEmptyComposter(TestContext context) {
+		placeComposters(context);
+		// A missing storage or a refused insert shows up as a composter left at level 0
+		for (int i = 0; i < COMPOSTERS; i++) {
+			Storage<ItemVariant> storage = ItemStorage.SIDED.find(context.getWorld(), context.getAbsolutePos(composterPos(i)), Direction.UP);
+			if (storage != null) {
+				try (Transaction transaction = Transaction.openOuter()) {
+					storage.insert(ItemVariant.of(Items.WHEAT_SEEDS), 1, transaction);
+					transaction.commit();
+				}
+			}
+		}
+
+		// Coalesced level updates are applied at the end of the tick
+		context.waitAndRun(1, () -> {
+			for (int i = 0; i < COMPOSTERS; i++) {
+				context.expectBlockProperty(composterPos(i), ComposterBlock.LEVEL, 1);
+			}
+			context.complete();
+		});
+	}
+
+	private static void tickScenario(TestContext context, List<Scenario> scenarios, LoadReport report, int[] state, LoadSample[] start) {
+		Scenario scenario = scenarios.get(state[0]);
+		if (state[1] == 0) {
+			clear(context);
+			scenario.setup(context);
+			start[0] = LoadSample.capture();
+		}
+
+		scenario.tick(context, state[1]++);
+
+		if (state[1] == SCENARIO_TICKS) {
+			report.add(scenario.name(), COMPOSTERS, SCENARIO_TICKS, LoadSample.capture().since(start[0]));
+			scenario.teardown(context);
+			state[0]++;
+			state[1] = 0;
+
+			if (state[0] == scenarios.size()) {
+				clear(context);
+				report.write();
+				context.complete();
+			}
+		}
+	}
+
+	private static Scenario playerUse(String name, boolean sneaking) {
+		return new Scenario() {
+			private PlayerEntity player;
+
+			@Override
+			public String name() {
+				return name;
+			}
+
+			@Override
+			public void setup(TestContext context) {
+				placeComposters(context);
+				player = context.createMockPlayer(GameMode.SURVIVAL);
+				player.setSneaking(sneaking);
+			}
+
+			@Override
+			public void tick(TestContext context, int tick) {
+				for (int i = 0; i < COMPOSTERS; i++) {
+					player.setStackInHand(Hand.MAIN_HAND, new ItemStack(FEED[i % FEED.length], 64));
+					use(context, composterPos(i), player);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Vanilla hoppers feeding every composter, as a baseline for transfer_insert
+	 */
+	private static Scenario hopperFeed() {
+		return new Scenario() {
+			@Override
+			public String name() {
+				return "hopper_feed";
+			}
+
+			@Override
+			public void setup(TestContext context) {
+				placeComposters(context);
+				for (int i = 0; i < COMPOSTERS; i++) {
+					BlockPos feeder = composterPos(i).up();
+					context.setBlockState(feeder, Blocks.HOPPER.getDefaultState().with(HopperBlock.FACING, Direction.DOWN));
+					fill(context, feeder, FEED[i % FEED.length]);
+				}
+			}
+
+			@Override
+			public void tick(TestContext context, int tick) {
+			}
+		};
+	}
+
+	/**
+	 * Vanilla droppers above every composter, pulsed every DROPPER_INTERVAL ticks
+	 */
+	private static Scenario dropperFeed() {
+		return new Scenario() {
+			@Override
+			public String name() {
+				return "dropper_feed";
+			}
+
+			@Override
+			public void setup(TestContext context) {
+				placeComposters(context);
+				for (int i = 0; i < COMPOSTERS; i++) {
+					BlockPos feeder = composterPos(i).up();
+					context.setBlockState(feeder, Blocks.DROPPER.getDefaultState().with(DispenserBlock.FACING, Direction.DOWN));
+					fill(context, feeder, FEED[i % FEED.length]);
+				}
+			}
+
+			@Override
+			public void tick(TestContext context, int tick) {
+				if (tick % DROPPER_INTERVAL == 0) {
+					for (int i = 0; i < COMPOSTERS; i++) {
+						context.putAndRemoveRedstoneBlock(composterPos(i).up(2), 1);
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * A farmer on every composter working at it each tick, with its inventory
+	 * topped up with seeds and the mod's gatherables
+	 * The villagers' AI is off so they stay put; their work runs through
+	 * FarmerWorkTask, where the mod flushes pending levels and deposits the
+	 * extra compostables.
+	 */
+	private static Scenario farmerWork() {
+		return new Scenario() {
+			private final List<VillagerEntity> farmers = new ArrayList<>();
+			private final VillagerWorkTaskInvoker work = (VillagerWorkTaskInvoker) new FarmerWorkTask();
+
+			@Override
+			public String name() {
+				return "farmer_work";
+			}
+
+			@Override
+			public void setup(TestContext context) {
+				placeComposters(context);
+				for (int i = 0; i < COMPOSTERS; i++) {
+					VillagerEntity farmer = context.spawnEntity(EntityType.VILLAGER, composterPos(i).up());
+					farmer.setAiDisabled(true);
+					farmer.setVillagerData(farmer.getVillagerData()
+						.withProfession(Registries.VILLAGER_PROFESSION.getEntry(VillagerProfession.FARMER).orElseThrow()));
+					farmer.getBrain().remember(MemoryModuleType.JOB_SITE,
+						GlobalPos.create(context.getWorld().getRegistryKey(), context.getAbsolutePos(composterPos(i))));
+					farmers.add(farmer);
+				}
+			}
+
+			@Override
+			public void tick(TestContext context, int tick) {
+				for (int i = 0; i < farmers.size(); i++) {
+					VillagerEntity farmer = farmers.get(i);
+					farmer.getInventory().setStack(0, new ItemStack(FARMER_FEED[i % FARMER_FEED.length], 16));
+					work.invokePerformAdditionalWork(context.getWorld(), farmer);
+				}
+			}
+
+			@Override
+			public void teardown(TestContext context) {
+				farmers.forEach(VillagerEntity::discard);
+				farmers.clear();
+			}
+		};
+	}
+
+	/**
+	 * Item pipes inserting a batch into every composter from above each tick,
+	 * through the mod's Transfer API storage
+	 */
+	private static Scenario transferInsert() {
+		return new Scenario() {
+			@Override
+			public String name() {
+				return "transfer_insert";
+			}
+
+			@Override
+			public void setup(TestContext context) {
+				placeComposters(context);
+			}
+
+			@Override
+			public void tick(TestContext context, int tick) {
+				for (int i = 0; i < COMPOSTERS; i++) {
+					Storage<ItemVariant> storage = ItemStorage.SIDED.find(context.getWorld(), context.getAbsolutePos(composterPos(i)), Direction.UP);
+					if (storage != null) {
+						try (Transaction transaction = Transaction.openOuter()) {
+							storage.insert(ItemVariant.of(FEED[i % FEED.length]), TRANSFER_BATCH, transaction);
+							transaction.commit();
+						}
+					}
+				}
+			}
+		};
+	}
+
+	/**
+	 * Uses the composter the way the server does: UseBlockCallback first, then
+	 * the block's vanilla use handling if the callback passes
+	 */
+	private static void use(TestContext context, BlockPos relativePos, PlayerEntity player) {
+		BlockPos pos = context.getAbsolutePos(relativePos);
+		BlockHitResult hit = new BlockHitResult(Vec3d.ofCenter(pos), Direction.UP, pos, false);
+		ActionResult result = UseBlockCallback.EVENT.invoker().interact(player, context.getWorld(), Hand.MAIN_HAND, hit);
+		if (result == ActionResult.PASS) {
+			context.useBlock(relativePos, player);
+		}
+	}
+
+	/**
+	 * Composters at y=2 with a hopper underneath collecting the bone meal
+	 */
+	private static void placeComposters(TestContext context) {
+		BlockState collector = Blocks.HOPPER.getDefaultState().with(HopperBlock.FACING, Direction.DOWN);
+		for (int i = 0; i < COMPOSTERS; i++) {
+			BlockPos pos = composterPos(i);
+			context.setBlockState(pos.down(), collector);
+			context.setBlockState(pos, Blocks.COMPOSTER);
+		}
+	}
+
+	private static BlockPos composterPos(int index) {
+		return new BlockPos(1 + 2 * (index % GRID), 2, 1 + 2 * (index / GRID));
+	}
+
+	private static void fill(TestContext context, BlockPos pos, Item item) {
+		BlockEntity blockEntity = context.getWorld().getBlockEntity(context.getAbsolutePos(pos));
+		if (blockEntity instanceof Inventory inventory) {
+			for (int slot = 0; slot < inventory.size(); slot++) {
+				inventory.setStack(slot, new ItemStack(item, 64));
+			}
+		}
+	}
+
+	private static void clear(TestContext context) {
+		for (int i = 0; i < COMPOSTERS; i++) {
+			BlockPos pos = composterPos(i);
+			for (int dy = -1; dy <= 2; dy++) {
+				BlockPos target = pos.up(dy);
+				// Empty containers first so removing them doesn't scatter items
+				if (context.getWorld().getBlockEntity(context.getAbsolutePos(target)) instanceof Inventory inventory) {
+					inventory.clear();
+				}
+				context.setBlockState(target, Blocks.AIR);
+			}
+		}
+	}
+}
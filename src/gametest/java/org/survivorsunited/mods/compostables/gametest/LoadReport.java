@@ -0,0 +1,65 @@
+package org.survivorsunited.mods.compostables.gametest;
+
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.SharedConstants;
+import org.survivorsunited.mods.compostables.Compostables;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * JSON report of the composter load scenarios
+ * Written to reports/composter-load.json in the game directory, or to the path
+ * in the compostables.loadReport system property.
+ */
+final class LoadReport {
+	private final JsonArray scenarios = new JsonArray();
+
+	void add(String name, int composters, int ticks, LoadSample delta) {
+		JsonObject scenario = new JsonObject();
+		scenario.addProperty("name", name);
+		scenario.addProperty("composters", composters);
+		scenario.addProperty("ticks", ticks);
+		scenario.addProperty("attempts", delta.attempts());
+		scenario.addProperty("levelsGained", delta.levelsGained());
+		scenario.addProperty("throttled", delta.throttled());
+		scenario.addProperty("modComposterUpdates", delta.modComposterUpdates());
+		scenario.addProperty("composterBlockUpdates", delta.composterBlockUpdates());
+		scenario.addProperty("composterBlockUpdatesPerTick", (double) delta.composterBlockUpdates() / ticks);
+		scenario.addProperty("playerUseCalls", delta.playerUseCalls());
+		scenario.addProperty("playerUseNanosPerCall", delta.playerUseCalls() > 0 ? delta.playerUseNanos() / delta.playerUseCalls() : 0);
+		scenario.addProperty("playerUseMillisPerTick", delta.playerUseNanos() / 1.0e6 / ticks);
+		scenario.addProperty("mspt", delta.mspt());
+		scenarios.add(scenario);
+
+		Compostables.LOGGER.info("Composter load [{}]: {} composter block updates ({} by the mod), {} levels, {} ms/tick in player uses, {} mspt",
+			name, delta.composterBlockUpdates(), delta.modComposterUpdates(), delta.levelsGained(),
+			String.format("%.4f", delta.playerUseNanos() / 1.0e6 / ticks),
+			String.format("%.3f", delta.mspt()));
+	}
+
+	void write() {
+		JsonObject report = new JsonObject();
+		report.addProperty("minecraftVersion", SharedConstants.getGameVersion().getName());
+		report.addProperty("modVersion", FabricLoader.getInstance().getModContainer("su-compostables")
+			.map(mod -> mod.getMetadata().getVersion().getFriendlyString())
+			.orElse("unknown"));
+		report.add("scenarios", scenarios);
+
+		String override = System.getProperty("compostables.loadReport");
+		Path path = override != null
+			? Path.of(override)
+			: FabricLoader.getInstance().getGameDir().resolve("reports").resolve("composter-load.json");
+		try {
+			Files.createDirectories(path.toAbsolutePath().getParent());
+			Files.writeString(path, new GsonBuilder().setPrettyPrinting().create().toJson(report));
+			Compostables.LOGGER.info("Wrote composter load report to {}", path.toAbsolutePath());
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to write composter load report to " + path, e);
+		}
+	}
+}
@@ -0,0 +1,54 @@
+package org.survivorsunited.mods.compostables.gametest;
+
+import org.survivorsunited.mods.compostables.metrics.CompostablesMetrics;
+
+/**
+ * Snapshot of the counters, used to measure a scenario by difference
+ */
+record LoadSample(
+	long attempts,
+	long levelsGained,
+	long throttled,
+	long modComposterUpdates,
+	long composterBlockUpdates,
+	long playerUseCalls,
+	long playerUseNanos,
+	long tickNanos,
+	long ticks
+) {
+	static LoadSample capture() {
+		return new LoadSample(
+			CompostablesMetrics.ATTEMPTS.sum(),
+			CompostablesMetrics.LEVELS_GAINED.sum(),
+			CompostablesMetrics.THROTTLED.sum(),
+			CompostablesMetrics.COMPOSTER_UPDATES.sum(),
+			BlockUpdateCounter.COMPOSTER_UPDATES.sum(),
+			CompostablesMetrics.ON_USE_CALLS.sum(),
+			CompostablesMetrics.ON_USE_NANOS.sum(),
+			TickTimer.totalNanos(),
+			TickTimer.ticks());
+	}
+
+	/**
+	 * Everything accumulated since start
+	 */
+	LoadSample since(LoadSample start) {
+		return new LoadSample(
+			attempts - start.attempts,
+			levelsGained - start.levelsGained,
+			throttled - start.throttled,
+			modComposterUpdates - start.modComposterUpdates,
+			composterBlockUpdates - start.composterBlockUpdates,
+			playerUseCalls - start.playerUseCalls,
+			playerUseNanos - start.playerUseNanos,
+			tickNanos - start.tickNanos,
+			ticks - start.ticks);
+	}
+
+	/**
+	 * Mean time the server spent per tick, over the ticks in this sample
+	 */
+	double mspt() {
+		return ticks > 0 ? tickNanos / 1.0e6 / ticks : 0.0;
+	}
+}
@@ -0,0 +1,42 @@
+package org.survivorsunited.mods.compostables.gametest;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+
+/**
+ * Time spent in each server tick, measured from the start to the end of the
+ * tick so that the idle wait between ticks isn't counted
+ * Scenarios take the difference of two samples to get their own tick cost,
+ * rather than the server's rolling average over the last 100 ticks.
+ */
+final class TickTimer {
+	private static boolean registered;
+	private static long tickStart;
+	private static long totalNanos;
+	private static long ticks;
+
+	private TickTimer() {
+	}
+
+	/**
+	 * Start timing ticks; safe to call more than once
+	 */
+	static void start() {
+		if (registered) {
+			return;
+		}
+		registered = true;
+		ServerTickEvents.START_SERVER_TICK.register(server -> tickStart = System.nanoTime());
+		ServerTickEvents.END_SERVER_TICK.register(server -> {
+			totalNanos += System.nanoTime() - tickStart;
+			ticks++;
+		});
+	}
+
+	static long totalNanos() {
+		return totalNanos;
+	}
+
+	static long ticks() {
+		return ticks;
+	}
+}
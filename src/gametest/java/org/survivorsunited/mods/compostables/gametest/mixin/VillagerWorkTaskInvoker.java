@@ -0,0 +1,17 @@
+package org.survivorsunited.mods.compostables.gametest.mixin;
+
+import net.minecraft.entity.ai.brain.task.VillagerWorkTask;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.server.world.ServerWorld;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.gen.Invoker;
+
+/**
+ * Lets the farmer scenario run a farmer's work at its job site on demand,
+ * through FarmerWorkTask and the mod's mixin on it
+ */
+@Mixin(VillagerWorkTask.class)
+public interface VillagerWorkTaskInvoker {
+	@Invoker("performAdditionalWork")
+	void invokePerformAdditionalWork(ServerWorld world, VillagerEntity entity);
+}
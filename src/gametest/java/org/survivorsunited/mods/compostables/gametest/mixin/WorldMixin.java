@@ -0,0 +1,25 @@
+package org.survivorsunited.mods.compostables.gametest.mixin;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.survivorsunited.mods.compostables.gametest.BlockUpdateCounter;
+
+/**
+ * Counts composter block state changes in the world, whichever code made them
+ */
+@Mixin(World.class)
+public class WorldMixin {
+	
+	@Inject(method = "setBlockState(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/BlockState;II)Z", at = @At("RETURN"))
+	private void countComposterUpdates(BlockPos pos, BlockState state, int flags, int maxUpdateDepth, CallbackInfoReturnable<Boolean> cir) {
+		if (cir.getReturnValueZ() && state.isOf(Blocks.COMPOSTER)) {
+			BlockUpdateCounter.COMPOSTER_UPDATES.increment();
+		}
+	}
+}
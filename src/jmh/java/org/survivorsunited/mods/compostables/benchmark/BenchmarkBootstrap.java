@@ -0,0 +1,74 @@
+package org.survivorsunited.mods.compostables.benchmark;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.common.collect.ImmutableSet;
+import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+import net.minecraft.Bootstrap;
+import net.minecraft.SharedConstants;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import org.survivorsunited.mods.compostables.compost.CompostableTable;
+import org.survivorsunited.mods.compostables.villager.FarmerGatherables;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Bootstraps Minecraft's registries outside the game and seeds the compost
+ * table and the farmer gatherables from the mod's bundled default.json
+ * Mixins are not applied in benchmark JVMs, so only plain mod classes are used.
+ */
+final class BenchmarkBootstrap {
+	private static final String DEFAULT_TABLE = "/data/compostables/compostable_chances/default.json";
+
+	private static boolean initialized;
+
+	private BenchmarkBootstrap() {
+	}
+
+	static synchronized void init() {
+		if (initialized) {
+			return;
+		}
+		SharedConstants.createGameVersion();
+		Bootstrap.initialize();
+		ImmutableSet.Builder<Item> farmer = ImmutableSet.builder();
+		CompostableTable.apply(loadDefaultTable(farmer));
+		FarmerGatherables.apply(farmer.build());
+		initialized = true;
+	}
+
+	private static Reference2FloatOpenHashMap<Item> loadDefaultTable(ImmutableSet.Builder<Item> farmer) {
+		Reference2FloatOpenHashMap<Item> entries = new Reference2FloatOpenHashMap<>();
+		try (InputStream in = BenchmarkBootstrap.class.getResourceAsStream(DEFAULT_TABLE);
+			 Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+			JsonObject json = JsonParser.parseReader(reader).getAsJsonObject();
+			for (Map.Entry<String, JsonElement> value : json.getAsJsonObject("values").entrySet()) {
+				Identifier id = Identifier.of(value.getKey());
+				if (!Registries.ITEM.containsId(id)) {
+					continue;
+				}
+				Item item = Registries.ITEM.get(id);
+				if (value.getValue().isJsonObject()) {
+					JsonObject entry = value.getValue().getAsJsonObject();
+					entries.put(item, entry.get("chance").getAsFloat());
+					if (entry.has("farmer") && entry.get("farmer").getAsBoolean()) {
+						farmer.add(item);
+					}
+				} else {
+					entries.put(item, value.getValue().getAsFloat());
+				}
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Failed to read " + DEFAULT_TABLE, e);
+		}
+		return entries;
+	}
+}
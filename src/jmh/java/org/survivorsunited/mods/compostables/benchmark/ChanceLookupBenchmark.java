@@ -0,0 +1,68 @@
+package org.survivorsunited.mods.compostables.benchmark;
+
+import net.minecraft.block.ComposterBlock;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.survivorsunited.mods.compostables.compost.CompostableTable;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compost chance lookups for compostable (hit) and non-compostable (miss) items,
+ * comparing vanilla's ITEM_TO_LEVEL_INCREASE_CHANCE with the frozen CompostableTable
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ChanceLookupBenchmark {
+	// Power-of-two sized so the index can be masked
+	private Item[] hits;
+	private Item[] misses;
+	private int index;
+
+	@Setup
+	public void setup() {
+		BenchmarkBootstrap.init();
+		hits = new Item[] {
+			Items.WHITE_WOOL, Items.RED_CARPET, Items.GRASS_BLOCK, Items.ROTTEN_FLESH,
+			Items.BEEF, Items.LEATHER_BOOTS, Items.BONE_BLOCK, Items.WHEAT_SEEDS
+		};
+		misses = new Item[] {
+			Items.STONE, Items.DIAMOND, Items.IRON_INGOT, Items.COBBLESTONE,
+			Items.GLASS, Items.TORCH, Items.OBSIDIAN, Items.REDSTONE
+		};
+	}
+
+	@Benchmark
+	public float vanillaMapHit() {
+		return ComposterBlock.ITEM_TO_LEVEL_INCREASE_CHANCE.getFloat(hits[index++ & 7]);
+	}
+
+	@Benchmark
+	public float vanillaMapMiss() {
+		return ComposterBlock.ITEM_TO_LEVEL_INCREASE_CHANCE.getFloat(misses[index++ & 7]);
+	}
+
+	@Benchmark
+	public float tableHit() {
+		return CompostableTable.getChance(hits[index++ & 7]);
+	}
+
+	@Benchmark
+	public float tableMiss() {
+		return CompostableTable.getChance(misses[index++ & 7]);
+	}
+}
@@ -0,0 +1,64 @@
+package org.survivorsunited.mods.compostables.benchmark;
+
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.util.math.random.Random;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.survivorsunited.mods.compostables.compost.CompostLogic;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The decision logic behind player composting (ComposterInteraction), run
+ * without a world: single-item decisions for every item at every level and
+ * whole-stack rolls as used by the bulk path
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ComposterDecisionBenchmark {
+	private Item[] items;
+	private Random random;
+	private int index;
+
+	@Setup
+	public void setup() {
+		BenchmarkBootstrap.init();
+		// Compostable block items, a low-chance block item, a non-block item and a non-compostable block
+		items = new Item[] {
+			Items.WHITE_WOOL, Items.RED_CARPET, Items.GRASS_BLOCK, Items.DEAD_BUSH,
+			Items.MOSS_CARPET, Items.ROTTEN_FLESH, Items.STONE, Items.BONE_BLOCK
+		};
+		random = Random.create(42L);
+	}
+
+	@Benchmark
+	public CompostLogic.Outcome decide() {
+		// The low three bits pick the item and the next three the level, so
+		// every 64 calls cover each item at each of the eight levels
+		int i = index++;
+		return CompostLogic.decide(items[i & 7], (i >>> 3) & 7, random);
+	}
+
+	@Benchmark
+	public int rollFullStackCertain() {
+		return CompostLogic.rollItems(random, 1.0f, 0, 64);
+	}
+
+	@Benchmark
+	public int rollFullStackLowChance() {
+		return CompostLogic.rollItems(random, 0.3f, 0, 64);
+	}
+}
@@ -0,0 +1,57 @@
+package org.survivorsunited.mods.compostables.benchmark;
+
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.survivorsunited.mods.compostables.villager.FarmerGatherables;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * gatherableItems.contains for the vanilla farmer set against the set
+ * enlarged by FarmerGatherables, with a mix of gatherable and ignored items
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class FarmerGatherablesBenchmark {
+	private ImmutableSet<Item> vanillaSet;
+	private ImmutableSet<Item> enlargedSet;
+	private Item[] probes;
+	private int index;
+
+	@Setup
+	public void setup() {
+		BenchmarkBootstrap.init();
+		// Vanilla farmer gatherables
+		vanillaSet = ImmutableSet.of(Items.WHEAT, Items.WHEAT_SEEDS, Items.BEETROOT_SEEDS, Items.BONE_MEAL);
+		enlargedSet = FarmerGatherables.withCompostables(vanillaSet);
+		probes = new Item[] {
+			Items.WHEAT, Items.ROTTEN_FLESH, Items.LEATHER_HELMET, Items.BLACK_DYE,
+			Items.ARROW, Items.BONE, Items.STRING, Items.GUNPOWDER
+		};
+	}
+
+	@Benchmark
+	public boolean vanillaContains() {
+		return vanillaSet.contains(probes[index++ & 7]);
+	}
+
+	@Benchmark
+	public boolean enlargedContains() {
+		return enlargedSet.contains(probes[index++ & 7]);
+	}
+}
@@ -0,0 +1,59 @@
+package org.survivorsunited.mods.compostables.block;
+
+import net.fabricmc.fabric.api.itemgroup.v1.ItemGroupEvents;
+import net.fabricmc.fabric.api.object.builder.v1.block.entity.FabricBlockEntityTypeBuilder;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemStorage;
+import net.minecraft.block.AbstractBlock;
+import net.minecraft.block.Block;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.item.BlockItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemGroups;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.Registry;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.util.Identifier;
+import org.survivorsunited.mods.compostables.Compostables;
+import org.survivorsunited.mods.compostables.compat.VersionCompat;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+
+/**
+ * Blocks added by the mod
+ * Only registered when industrialComposter is enabled, since a new block means
+ * clients need the mod installed too. The option must then be the same on the
+ * client and the server: Fabric syncs the block and item registries on join and
+ * disconnects a client whose entries don't match.
+ */
+public final class CompostablesBlocks {
+	public static final Identifier INDUSTRIAL_COMPOSTER_ID = Identifier.of(Compostables.MOD_ID, "industrial_composter");
+
+	public static Block INDUSTRIAL_COMPOSTER;
+	public static BlockEntityType<IndustrialComposterBlockEntity> INDUSTRIAL_COMPOSTER_ENTITY;
+
+	private CompostablesBlocks() {
+	}
+
+	public static void register() {
+		if (!CompostablesConfig.industrialComposter) {
+			return;
+		}
+
+		RegistryKey<Block> blockKey = RegistryKey.of(RegistryKeys.BLOCK, INDUSTRIAL_COMPOSTER_ID);
+		INDUSTRIAL_COMPOSTER = Registry.register(Registries.BLOCK, blockKey,
+			new IndustrialComposterBlock(VersionCompat.blockSettings(AbstractBlock.Settings.copy(Blocks.COMPOSTER), blockKey)));
+
+		RegistryKey<Item> itemKey = RegistryKey.of(RegistryKeys.ITEM, INDUSTRIAL_COMPOSTER_ID);
+		Item item = Registry.register(Registries.ITEM, itemKey,
+			new BlockItem(INDUSTRIAL_COMPOSTER, VersionCompat.blockItemSettings(itemKey)));
+
+		INDUSTRIAL_COMPOSTER_ENTITY = Registry.register(Registries.BLOCK_ENTITY_TYPE, INDUSTRIAL_COMPOSTER_ID,
+			FabricBlockEntityTypeBuilder.create(IndustrialComposterBlockEntity::new, INDUSTRIAL_COMPOSTER).build());
+		IndustrialComposterBlockEntity.register();
+
+		// Compostables go in and bone meal comes out on every side
+		ItemStorage.SIDED.registerForBlockEntity((composter, direction) -> composter.getStorage(), INDUSTRIAL_COMPOSTER_ENTITY);
+		ItemGroupEvents.modifyEntriesEvent(ItemGroups.FUNCTIONAL).register(entries -> entries.add(item));
+	}
+}
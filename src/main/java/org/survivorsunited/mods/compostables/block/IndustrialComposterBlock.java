@@ -0,0 +1,111 @@
+package org.survivorsunited.mods.compostables.block;
+
+import com.mojang.serialization.MapCodec;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.transaction.Transaction;
+import net.minecraft.block.BlockRenderType;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.BlockWithEntity;
+import net.minecraft.block.entity.BlockEntity;
+import net.minecraft.block.entity.BlockEntityTicker;
+import net.minecraft.block.entity.BlockEntityType;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.item.Items;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.survivorsunited.mods.compostables.compat.DroppingBlockWithEntity;
+import org.survivorsunited.mods.compostables.compost.CompostableTable;
+
+/**
+ * A composter with a large internal buffer
+ * Using it with a compostable item in the main hand loads as much of the stack
+ * as fits; using it with anything else takes out up to a stack of bone meal.
+ * Hoppers and pipes use the block entity's Transfer API storage. The buffer
+ * and bone meal are dropped when the block is broken.
+ */
+public class IndustrialComposterBlock extends DroppingBlockWithEntity {
+	public static final MapCodec<IndustrialComposterBlock> CODEC = createCodec(IndustrialComposterBlock::new);
+
+	public IndustrialComposterBlock(Settings settings) {
+		super(settings);
+	}
+
+	@Override
+	protected MapCodec<? extends BlockWithEntity> getCodec() {
+		return CODEC;
+	}
+
+	@Override
+	protected BlockRenderType getRenderType(BlockState state) {
+		// Before 1.21.2 BlockWithEntity renders nothing by default
+		return BlockRenderType.MODEL;
+	}
+
+	@Override
+	public BlockEntity createBlockEntity(BlockPos pos, BlockState state) {
+		return new IndustrialComposterBlockEntity(pos, state);
+	}
+
+	@Override
+	public <T extends BlockEntity> BlockEntityTicker<T> getTicker(World world, BlockState state, BlockEntityType<T> type) {
+		return world.isClient ? null : validateTicker(type, CompostablesBlocks.INDUSTRIAL_COMPOSTER_ENTITY, IndustrialComposterBlockEntity::tick);
+	}
+
+	@Override
+	protected ActionResult onUse(BlockState state, World world, BlockPos pos, PlayerEntity player, BlockHitResult hit) {
+		if (!(world.getBlockEntity(pos) instanceof IndustrialComposterBlockEntity composter)) {
+			return ActionResult.PASS;
+		}
+		if (world.isClient) {
+			return ActionResult.SUCCESS;
+		}
+
+		// Vanilla only gets here for the main hand, once the held item had nothing to do
+		ItemStack stack = player.getMainHandStack();
+		if (CompostableTable.isCompostable(stack.getItem())) {
+			load(composter, world, pos, player, stack);
+		} else {
+			empty(composter, world, pos, player);
+		}
+		return ActionResult.SUCCESS;
+	}
+
+	/**
+	 * Loads as much of the held stack as the buffer takes
+	 */
+	private static void load(IndustrialComposterBlockEntity composter, World world, BlockPos pos, PlayerEntity player, ItemStack stack) {
+		long inserted;
+		try (Transaction transaction = Transaction.openOuter()) {
+			inserted = composter.getStorage().insert(ItemVariant.of(stack), stack.getCount(), transaction);
+			transaction.commit();
+		}
+
+		if (inserted > 0) {
+			if (!player.getAbilities().creativeMode) {
+				stack.decrement((int) inserted);
+			}
+			world.playSound(null, pos, SoundEvents.BLOCK_COMPOSTER_FILL, SoundCategory.BLOCKS, 1.0f, 1.0f);
+		}
+	}
+
+	/**
+	 * Gives the player up to a stack of bone meal
+	 */
+	private static void empty(IndustrialComposterBlockEntity composter, World world, BlockPos pos, PlayerEntity player) {
+		long extracted;
+		try (Transaction transaction = Transaction.openOuter()) {
+			extracted = composter.getStorage().extract(ItemVariant.of(Items.BONE_MEAL), Items.BONE_MEAL.getMaxCount(), transaction);
+			transaction.commit();
+		}
+
+		if (extracted > 0) {
+			player.getInventory().offerOrDrop(new ItemStack(Items.BONE_MEAL, (int) extracted));
+			world.playSound(null, pos, SoundEvents.BLOCK_COMPOSTER_EMPTY, SoundCategory.BLOCKS, 1.0f, 1.0f);
+		}
+	}
+}
@@ -0,0 +1,300 @@
+package org.survivorsunited.mods.compostables.block;
+
+import com.mojang.serialization.Codec;
+import com.mojang.serialization.codecs.RecordCodecBuilder;
+import it.unimi.dsi.fastutil.objects.Object2IntMap;
+import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.CombinedStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.InsertionOnlyStorage;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.SingleVariantStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.block.BlockState;
+import net.minecraft.item.Item;
+import net.minecraft.item.Items;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.ItemScatterer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.survivorsunited.mods.compostables.Compostables;
+import org.survivorsunited.mods.compostables.compat.DroppingBlockEntity;
+import org.survivorsunited.mods.compostables.compost.CompostCredit;
+import org.survivorsunited.mods.compostables.compost.CompostLogic;
+import org.survivorsunited.mods.compostables.compost.CompostableTable;
+import org.survivorsunited.mods.compostables.compost.ComposterFeedback;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.journal.CompostJournal;
+import org.survivorsunited.mods.compostables.journal.JournalFormat;
+import org.survivorsunited.mods.compostables.metrics.CompostablesMetrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Buffer and bone meal output of an industrial composter
+ * Inserted compostables are counted per item variant, so items keep their
+ * components (names, enchantments and so on) if they are dropped again. Every
+ * industrialComposterInterval ticks up to industrialComposterItemsPerCycle of
+ * them are rolled with the usual compost chances (or composter credit), and
+ * every seven levels become one bone meal, the same yield as a vanilla
+ * composter. Processing pauses while the output is full, and the block entity
+ * is only marked for saving when its contents change.
+ *
+ * The contents are saved in a persistent block entity attachment rather than
+ * through writeNbt/readNbt, whose signatures change across the supported
+ * versions. They are read back from it the first time the block entity is used.
+ */
+public class IndustrialComposterBlockEntity extends DroppingBlockEntity {
+	private static final AttachmentType<Contents> CONTENTS = AttachmentRegistry.create(
+		Identifier.of(Compostables.MOD_ID, "industrial_composter"), builder -> builder.persistent(Contents.CODEC));
+
+	/**
+	 * Saved contents; never modified once attached
+	 */
+	private record Contents(List<Buffered> buffer, int levels, int boneMeal) {
+		private static final Codec<Contents> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+			Buffered.CODEC.listOf().fieldOf("buffer").forGetter(Contents::buffer),
+			Codec.INT.fieldOf("levels").forGetter(Contents::levels),
+			Codec.INT.fieldOf("bone_meal").forGetter(Contents::boneMeal)
+		).apply(instance, Contents::new));
+	}
+
+	/**
+	 * Saved count of one buffered item variant
+	 */
+	private record Buffered(ItemVariant variant, int count) {
+		private static final Codec<Buffered> CODEC = RecordCodecBuilder.create(instance -> instance.group(
+			ItemVariant.CODEC.fieldOf("variant").forGetter(Buffered::variant),
+			Codec.INT.fieldOf("count").forGetter(Buffered::count)
+		).apply(instance, Buffered::new));
+	}
+
+	private final Object2IntOpenHashMap<ItemVariant> buffer = new Object2IntOpenHashMap<>();
+	private int buffered;
+	/** Levels towards the next bone meal */
+	private int levels;
+	private int cooldown;
+	private boolean loaded;
+
+	private final InputStorage input = new InputStorage();
+	private final SingleVariantStorage<ItemVariant> output = new SingleVariantStorage<>() {
+		@Override
+		protected ItemVariant getBlankVariant() {
+			return ItemVariant.blank();
+		}
+
+		@Override
+		protected long getCapacity(ItemVariant variant) {
+			return CompostablesConfig.industrialComposterOutputCapacity;
+		}
+
+		@Override
+		protected boolean canInsert(ItemVariant variant) {
+			return false;
+		}
+
+		@Override
+		protected void onFinalCommit() {
+			save();
+		}
+	};
+	private final Storage<ItemVariant> storage = new CombinedStorage<>(List.of(input, output));
+
+	public IndustrialComposterBlockEntity(BlockPos pos, BlockState state) {
+		super(CompostablesBlocks.INDUSTRIAL_COMPOSTER_ENTITY, pos, state);
+	}
+
+	/**
+	 * Make sure the attachment type is registered before any chunk loads
+	 */
+	static void register() {
+		Compostables.LOGGER.debug("Registered {} block entity attachment", CONTENTS.identifier());
+	}
+
+	/**
+	 * Compostables in, bone meal out
+	 */
+	public Storage<ItemVariant> getStorage() {
+		load();
+		return storage;
+	}
+
+	public static void tick(World world, BlockPos pos, BlockState state, IndustrialComposterBlockEntity composter) {
+		composter.load();
+		if (--composter.cooldown > 0) {
+			return;
+		}
+		composter.cooldown = CompostablesConfig.industrialComposterInterval;
+		if (composter.buffered > 0) {
+			composter.process((ServerWorld) world);
+		}
+	}
+
+	/**
+	 * Compost one cycle's worth of buffered items
+	 */
+	private void process(ServerWorld world) {
+		int budget = CompostablesConfig.industrialComposterItemsPerCycle;
+		long outputCapacity = CompostablesConfig.industrialComposterOutputCapacity;
+		int processed = 0;
+		int gained = 0;
+
+		ObjectIterator<Object2IntMap.Entry<ItemVariant>> entries = buffer.object2IntEntrySet().fastIterator();
+		while (entries.hasNext() && budget > 0 && output.amount < outputCapacity) {
+			Object2IntMap.Entry<ItemVariant> entry = entries.next();
+			Item item = entry.getKey().getItem();
+			float chance = CompostableTable.getChance(item);
+			int count = entry.getIntValue();
+			int taken = 0;
+
+			while (taken < count && budget > 0 && output.amount < outputCapacity) {
+				taken++;
+				budget--;
+				boolean success = chance > 0.0f && CompostCredit.roll(world, pos, chance);
+				if (success) {
+					gained++;
+					if (++levels == CompostLogic.MAX_FILL_LEVEL) {
+						levels = 0;
+						output.variant = ItemVariant.of(Items.BONE_MEAL);
+						output.amount++;
+					}
+				}
+				CompostJournal.record(world, pos, item, success ? JournalFormat.OUTCOME_SUCCESS : JournalFormat.OUTCOME_FAILURE,
+					success ? 1 : 0, JournalFormat.SOURCE_INDUSTRIAL, null);
+			}
+
+			buffered -= taken;
+			processed += taken;
+			if (taken == count) {
+				entries.remove();
+			} else {
+				entry.setValue(count - taken);
+			}
+		}
+
+		if (gained > 0) {
+			CompostablesMetrics.LEVELS_GAINED.add(gained);
+			ComposterFeedback.success(world, pos);
+		}
+		// A full output leaves everything as it was
+		if (processed > 0) {
+			save();
+		}
+	}
+
+	/**
+	 * Read the saved contents, once
+	 */
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+
+		Contents contents = getAttached(CONTENTS);
+		if (contents == null) {
+			return;
+		}
+		for (Buffered entry : contents.buffer()) {
+			if (entry.count() > 0 && !entry.variant().isBlank()) {
+				buffer.addTo(entry.variant(), entry.count());
+				buffered += entry.count();
+			}
+		}
+		levels = contents.levels();
+		output.amount = contents.boneMeal();
+		output.variant = output.amount > 0 ? ItemVariant.of(Items.BONE_MEAL) : ItemVariant.blank();
+	}
+
+	/**
+	 * Replace the saved contents with the current ones and mark the chunk for saving
+	 */
+	private void save() {
+		if (buffered == 0 && levels == 0 && output.amount == 0) {
+			removeAttached(CONTENTS);
+		} else {
+			List<Buffered> saved = new ArrayList<>(buffer.size());
+			for (Object2IntMap.Entry<ItemVariant> entry : buffer.object2IntEntrySet()) {
+				saved.add(new Buffered(entry.getKey(), entry.getIntValue()));
+			}
+			setAttached(CONTENTS, new Contents(saved, levels, (int) output.amount));
+		}
+		markDirty();
+	}
+
+	@Override
+	protected void dropContents() {
+		if (world == null) {
+			return;
+		}
+		load();
+
+		// Spill the buffer and the bone meal like a broken container
+		for (Object2IntMap.Entry<ItemVariant> entry : buffer.object2IntEntrySet()) {
+			drop(entry.getKey(), entry.getIntValue());
+		}
+		drop(ItemVariant.of(Items.BONE_MEAL), (int) output.amount);
+		buffer.clear();
+		buffered = 0;
+		output.amount = 0;
+	}
+
+	private void drop(ItemVariant variant, int count) {
+		int maxCount = variant.toStack().getMaxCount();
+		while (count > 0) {
+			int size = Math.min(count, maxCount);
+			ItemScatterer.spawn(world, pos.getX(), pos.getY(), pos.getZ(), variant.toStack(size));
+			count -= size;
+		}
+	}
+
+	/**
+	 * Accepts compostables into the buffer up to industrialComposterCapacity
+	 */
+	private class InputStorage extends SnapshotParticipant<InputStorage.Snapshot> implements InsertionOnlyStorage<ItemVariant> {
+		private record Snapshot(Object2IntOpenHashMap<ItemVariant> buffer, int buffered) {
+		}
+
+		@Override
+		public long insert(ItemVariant resource, long maxAmount, TransactionContext transaction) {
+			StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+
+			if (!CompostableTable.isCompostable(resource.getItem())) {
+				return 0;
+			}
+			int accepted = (int) Math.min(maxAmount, CompostablesConfig.industrialComposterCapacity - buffered);
+			if (accepted <= 0) {
+				return 0;
+			}
+
+			updateSnapshots(transaction);
+			buffer.addTo(resource, accepted);
+			buffered += accepted;
+			return accepted;
+		}
+
+		@Override
+		protected Snapshot createSnapshot() {
+			return new Snapshot(new Object2IntOpenHashMap<>(buffer), buffered);
+		}
+
+		@Override
+		protected void readSnapshot(Snapshot snapshot) {
+			buffer.clear();
+			buffer.putAll(snapshot.buffer());
+			buffered = snapshot.buffered();
+		}
+
+		@Override
+		protected void onFinalCommit() {
+			save();
+		}
+	}
+}
@@ -0,0 +1,62 @@
+package org.survivorsunited.mods.compostables.command;
+
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.context.CommandContext;
+import net.fabricmc.fabric.api.command.v2.CommandRegistrationCallback;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.command.CommandManager;
+import net.minecraft.server.command.ServerCommandSource;
+import net.minecraft.text.Text;
+import org.survivorsunited.mods.compostables.metrics.CompostablesMetrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.IntStream;
+
+/**
+ * The /compostables admin command
+ */
+public final class CompostablesCommand {
+	private static final int TOP_ITEMS = 10;
+
+	private CompostablesCommand() {
+	}
+
+	public static void register() {
+		CommandRegistrationCallback.EVENT.register((dispatcher, registryAccess, environment) -> register(dispatcher));
+	}
+
+	private static void register(CommandDispatcher<ServerCommandSource> dispatcher) {
+		dispatcher.register(CommandManager.literal("compostables")
+			.requires(source -> source.hasPermissionLevel(2))
+			.then(CommandManager.literal("stats").executes(CompostablesCommand::stats)));
+	}
+
+	private static int stats(CommandContext<ServerCommandSource> context) {
+		ServerCommandSource source = context.getSource();
+		long calls = CompostablesMetrics.ON_USE_CALLS.sum();
+		long nanos = CompostablesMetrics.ON_USE_NANOS.sum();
+
+		source.sendFeedback(() -> Text.literal(String.format(
+			"Composter attempts: %d (success %d, failed %d, full %d), throttled: %d, levels gained: %d",
+			CompostablesMetrics.ATTEMPTS.sum(),
+			CompostablesMetrics.SUCCESSES.sum(),
+			CompostablesMetrics.FAILURES.sum(),
+			CompostablesMetrics.FULL_REJECTIONS.sum(),
+			CompostablesMetrics.THROTTLED.sum(),
+			CompostablesMetrics.LEVELS_GAINED.sum())), false);
+		source.sendFeedback(() -> Text.literal(String.format(
+			"Player uses: %d calls, %.3f ms total, %d ns avg; composter updates: %d",
+			calls, nanos / 1.0e6, calls > 0 ? nanos / calls : 0,
+			CompostablesMetrics.COMPOSTER_UPDATES.sum())), false);
+
+		AtomicLongArray items = CompostablesMetrics.itemAttempts();
+		IntStream.range(0, items.length())
+			.filter(rawId -> items.get(rawId) > 0)
+			.boxed()
+			.sorted((a, b) -> Long.compare(items.get(b), items.get(a)))
+			.limit(TOP_ITEMS)
+			.forEach(rawId -> source.sendFeedback(() -> Text.literal(String.format(
+				"  %s: %d", Registries.ITEM.getId(Registries.ITEM.get(rawId)), items.get(rawId))), false));
+		return 1;
+	}
+}
@@ -0,0 +1,154 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import com.mojang.serialization.Codec;
+import it.unimi.dsi.fastutil.longs.Long2FloatMap;
+import it.unimi.dsi.fastutil.longs.Long2FloatOpenHashMap;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentRegistry;
+import net.fabricmc.fabric.api.attachment.v1.AttachmentType;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
+import org.survivorsunited.mods.compostables.Compostables;
+import org.survivorsunited.mods.compostables.compat.VersionCompat;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+
+import java.util.stream.LongStream;
+
+/**
+ * Deterministic compost credit for the creditComposting mode
+ * Instead of rolling, every item adds its chance to the composter's credit and
+ * a level is gained each time the credit reaches 1.0. The expected levels per
+ * item match the random rolls, without the variance or the wasted attempts.
+ *
+ * The leftover fraction is kept per chunk in a persistent chunk attachment,
+ * keyed by packed BlockPos and saved as a single long array. The attached map
+ * is updated in place and the chunk marked for saving, so crediting an item
+ * costs a map update rather than a copy of every credit in the chunk. A
+ * composter's entry, or an industrial composter's, is dropped when it is
+ * broken or replaced.
+ */
+public final class CompostCredit {
+	private static final Identifier ID = Identifier.of(Compostables.MOD_ID, "compost_credit");
+
+	/** Credits below this are treated as none, so float error doesn't keep entries alive */
+	private static final float EPSILON = 1.0e-4f;
+
+	private static final AttachmentType<Credits> CREDITS = AttachmentRegistry.create(ID,
+		builder -> builder.persistent(Credits.CODEC));
+
+	/**
+	 * Fractional credit of every composter in a chunk, updated in place
+	 */
+	private record Credits(Long2FloatOpenHashMap credits) {
+		// Stored as [pos, credit bits, pos, credit bits, ...]
+		private static final Codec<Credits> CODEC = Codec.LONG_STREAM.xmap(Credits::decode, Credits::encode);
+
+		private static Credits decode(LongStream stream) {
+			Long2FloatOpenHashMap credits = new Long2FloatOpenHashMap();
+			long[] values = stream.toArray();
+			for (int i = 0; i + 1 < values.length; i += 2) {
+				credits.put(values[i], Float.intBitsToFloat((int) values[i + 1]));
+			}
+			return new Credits(credits);
+		}
+
+		private LongStream encode() {
+			long[] values = new long[credits.size() * 2];
+			int i = 0;
+			for (Long2FloatMap.Entry entry : credits.long2FloatEntrySet()) {
+				values[i++] = entry.getLongKey();
+				values[i++] = Float.floatToIntBits(entry.getFloatValue());
+			}
+			return LongStream.of(values);
+		}
+	}
+
+	private CompostCredit() {
+	}
+
+	/**
+	 * Make sure the attachment type is registered before any chunk loads
+	 */
+	public static void register() {
+		Compostables.LOGGER.debug("Registered {} chunk attachment", CREDITS.identifier());
+	}
+
+	/**
+	 * Whether one item with the given chance earns the composter a level
+	 * Uses the composter's credit in creditComposting mode, otherwise a plain
+	 * random roll.
+	 */
+	public static boolean roll(World world, BlockPos pos, float chance) {
+		if (CompostablesConfig.creditComposting && world instanceof ServerWorld serverWorld) {
+			return add(serverWorld, pos, chance);
+		}
+		return world.getRandom().nextFloat() < chance;
+	}
+
+	/**
+	 * Same as roll, for a vanilla composter at the given level
+	 * The first item into an empty composter always earns a level, as in
+	 * vanilla, without using the credit.
+	 */
+	public static boolean roll(World world, BlockPos pos, float chance, int level) {
+		return CompostLogic.alwaysComposts(chance, level) || roll(world, pos, chance);
+	}
+
+	/**
+	 * Add one item's chance to the composter's credit
+	 *
+	 * @return whether the credit reached a whole level, which is taken off the credit
+	 */
+	public static boolean add(ServerWorld world, BlockPos pos, float chance) {
+		WorldChunk chunk = world.getWorldChunk(pos);
+		Credits attached = chunk.getAttached(CREDITS);
+		if (attached == null) {
+			attached = new Credits(new Long2FloatOpenHashMap());
+			chunk.setAttached(CREDITS, attached);
+		}
+		Long2FloatOpenHashMap credits = attached.credits();
+		long key = pos.asLong();
+
+		float credit = credits.get(key) + chance;
+		boolean levelGained = credit >= 1.0f - EPSILON;
+		if (levelGained) {
+			credit = Math.max(0.0f, credit - 1.0f);
+		}
+
+		if (credit < EPSILON) {
+			credits.remove(key);
+		} else {
+			credits.put(key, credit);
+		}
+		changed(chunk, credits);
+		return levelGained;
+	}
+
+	/**
+	 * Forget the credit of a composter that was broken or replaced, so a new
+	 * composter at the same position starts from nothing
+	 */
+	public static void remove(ServerWorld world, BlockPos pos) {
+		WorldChunk chunk = world.getWorldChunk(pos);
+		Credits attached = chunk.getAttached(CREDITS);
+		if (attached == null || !attached.credits().containsKey(pos.asLong())) {
+			return;
+		}
+
+		attached.credits().remove(pos.asLong());
+		changed(chunk, attached.credits());
+	}
+
+	/**
+	 * Mark the chunk for saving after its credits changed in place, dropping
+	 * the attachment once no composter has credit left
+	 */
+	private static void changed(WorldChunk chunk, Long2FloatOpenHashMap credits) {
+		if (credits.isEmpty()) {
+			chunk.removeAttached(CREDITS);
+		}
+		VersionCompat.markNeedsSaving(chunk);
+	}
+}
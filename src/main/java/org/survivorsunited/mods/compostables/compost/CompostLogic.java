@@ -0,0 +1,94 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import net.minecraft.item.BlockItem;
+import net.minecraft.item.Item;
+import net.minecraft.util.math.random.Random;
+
+/**
+ * World-independent composting decisions
+ * Pulled out of the player composting path so the same rules can be shared by every
+ * composting path and exercised without a live world (see the jmh source set).
+ */
+public final class CompostLogic {
+	/** Highest level an item can raise a composter to; level 8 means bone meal is ready */
+	public static final int MAX_FILL_LEVEL = 7;
+	/** Level of a composter with bone meal ready to take out */
+	public static final int READY_LEVEL = 8;
+
+	/**
+	 * Result of a single composting attempt
+	 */
+	public enum Outcome {
+		/** Not compostable - leave the interaction to vanilla */
+		PASS,
+		/** Compostable, but the composter is already full */
+		FULL,
+		/** The roll succeeded and the composter gains a level */
+		SUCCESS,
+		/** The roll failed; see consumesOnFailure for whether the item is kept */
+		FAILURE
+	}
+
+	private CompostLogic() {
+	}
+
+	/**
+	 * Decide what a single use of an item on a composter does
+	 *
+	 * @param item  the held item
+	 * @param level the composter's current level
+	 * @param random source for the compost roll, only consulted when a roll happens
+	 */
+	public static Outcome decide(Item item, int level, Random random) {
+		float chance = CompostableTable.getChance(item);
+		if (chance <= 0.0f) {
+			return Outcome.PASS;
+		}
+		if (level >= MAX_FILL_LEVEL) {
+			return Outcome.FULL;
+		}
+		return composts(random, chance, level) ? Outcome.SUCCESS : Outcome.FAILURE;
+	}
+
+	/**
+	 * Whether an item with the given chance composts at this level
+	 * As in vanilla, the first item into an empty composter always does.
+	 */
+	public static boolean composts(Random random, float chance, int level) {
+		return alwaysComposts(chance, level) || random.nextFloat() < chance;
+	}
+
+	/**
+	 * Whether an item composts without a roll: vanilla's rule that the first
+	 * compostable into an empty composter always adds a level
+	 */
+	public static boolean alwaysComposts(float chance, int level) {
+		return level == 0 && chance > 0.0f;
+	}
+
+	/**
+	 * Whether a failed roll still uses up the item
+	 * Vanilla consumes every item it tries; block items, which vanilla would
+	 * have placed instead, are kept so the player can try again.
+	 */
+	public static boolean consumesOnFailure(Item item) {
+		return !(item instanceof BlockItem);
+	}
+
+	/**
+	 * Roll once per item, as if each item were used separately, stopping when
+	 * the composter fills up
+	 * Starting from an empty composter, the first item always composts.
+	 *
+	 * @return the number of items that composted, each worth one level
+	 */
+	public static int rollItems(Random random, float chance, int level, int items) {
+		int composted = 0;
+		for (int i = 0; i < items && level + composted < MAX_FILL_LEVEL; i++) {
+			if (composts(random, chance, level + composted)) {
+				composted++;
+			}
+		}
+		return composted;
+	}
+}
@@ -0,0 +1,101 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import it.unimi.dsi.fastutil.objects.Object2FloatMap;
+import it.unimi.dsi.fastutil.objects.Reference2FloatMap;
+import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import it.unimi.dsi.fastutil.objects.ReferenceSet;
+import net.minecraft.block.ComposterBlock;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemConvertible;
+
+/**
+ * Frozen compost chance lookup used on the composting hot path
+ * The table is rebuilt whenever datapacks are (re)loaded and swapped in with a
+ * single volatile write, so readers never see a half-built map and never pay
+ * for tag resolution. Vanilla's ITEM_TO_LEVEL_INCREASE_CHANCE map is kept in
+ * sync so that hoppers and vanilla composting see the same values. Vanilla
+ * treats every key in that map as compostable, so an entry with chance 0
+ * removes the item from it instead of being written.
+ */
+public final class CompostableTable {
+	/** Vanilla values for items whose chance was overridden by the loaded data */
+	private static final Reference2FloatOpenHashMap<Item> overriddenVanilla = new Reference2FloatOpenHashMap<>();
+
+	/** Items written into the vanilla map by the last apply */
+	private static ReferenceSet<Item> appliedItems = new ReferenceOpenHashSet<>();
+
+	private static volatile Reference2FloatOpenHashMap<Item> active = freeze();
+
+	private CompostableTable() {
+	}
+
+	/**
+	 * Get the compost chance for an item, or 0 if it is not compostable
+	 */
+	public static float getChance(Item item) {
+		return active.getFloat(item);
+	}
+
+	/**
+	 * Whether the item can be put into a composter at all
+	 */
+	public static boolean isCompostable(Item item) {
+		return active.getFloat(item) > 0.0f;
+	}
+
+	/**
+	 * Number of compostable items in the active table, vanilla entries included
+	 */
+	public static int size() {
+		return active.size();
+	}
+
+	/**
+	 * Replace the mod's entries with a freshly resolved set
+	 * Must be called on the server thread, or on the client thread when the
+	 * client is connected to a remote server; the previous entries are rolled
+	 * back in the vanilla map before the new ones are written.
+	 */
+	public static synchronized void apply(Reference2FloatMap<Item> entries) {
+		Object2FloatMap<ItemConvertible> vanilla = ComposterBlock.ITEM_TO_LEVEL_INCREASE_CHANCE;
+
+		// Undo the previous load
+		for (Item item : appliedItems) {
+			if (overriddenVanilla.containsKey(item)) {
+				vanilla.put(item, overriddenVanilla.removeFloat(item));
+			} else {
+				vanilla.removeFloat(item);
+			}
+		}
+
+		// Write the new entries, remembering any vanilla values they replace or remove
+		for (Reference2FloatMap.Entry<Item> entry : entries.reference2FloatEntrySet()) {
+			Item item = entry.getKey();
+			if (vanilla.containsKey(item)) {
+				overriddenVanilla.put(item, vanilla.getFloat(item));
+			}
+			if (entry.getFloatValue() > 0.0f) {
+				vanilla.put(item, entry.getFloatValue());
+			} else {
+				vanilla.removeFloat(item);
+			}
+		}
+
+		appliedItems = new ReferenceOpenHashSet<>(entries.keySet());
+		active = freeze();
+	}
+
+	/**
+	 * Copy the vanilla map into an identity-keyed map for the hot path
+	 */
+	private static Reference2FloatOpenHashMap<Item> freeze() {
+		Object2FloatMap<ItemConvertible> vanilla = ComposterBlock.ITEM_TO_LEVEL_INCREASE_CHANCE;
+		Reference2FloatOpenHashMap<Item> frozen = new Reference2FloatOpenHashMap<>(vanilla.size());
+		for (Object2FloatMap.Entry<ItemConvertible> entry : vanilla.object2FloatEntrySet()) {
+			frozen.put(entry.getKey().asItem(), entry.getFloatValue());
+		}
+		frozen.defaultReturnValue(0.0f);
+		return frozen;
+	}
+}
@@ -0,0 +1,188 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanMap;
+import it.unimi.dsi.fastutil.objects.Reference2BooleanOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2FloatOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
+import net.fabricmc.fabric.api.resource.SimpleSynchronousResourceReloadListener;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
+import net.minecraft.registry.tag.TagKey;
+import net.minecraft.resource.Resource;
+import net.minecraft.resource.ResourceManager;
+import net.minecraft.resource.ResourceType;
+import net.minecraft.util.Identifier;
+import org.survivorsunited.mods.compostables.Compostables;
+import org.survivorsunited.mods.compostables.villager.FarmerGatherables;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads compost chances from data/&lt;namespace&gt;/compostable_chances/*.json
+ * Files are applied in identifier order. A file with "replace": true discards
+ * everything loaded before it. Keys in "values" are item IDs or item tags
+ * prefixed with '#'; explicit item IDs win over tag entries. A value is either
+ * the chance itself or an object {"chance": 0.5, "farmer": true}, where
+ * "farmer" also makes farmers gather the item (see FarmerGatherables).
+ *
+ * Tags are only bound once the reload has finished, so the parsed entries are
+ * resolved into a CompostableTable when the tags-loaded event fires.
+ *
+ * A client connected to a remote server never loads data, so it resolves the
+ * bundled default.json when the server's tags arrive instead. Composting still
+ * runs on the server; the client only needs to know which items compost so it
+ * doesn't predict placing wool or carpets on a composter. In singleplayer the
+ * integrated server's table is kept.
+ */
+public final class CompostableTableLoader implements SimpleSynchronousResourceReloadListener {
+	private static final Identifier ID = Identifier.of(Compostables.MOD_ID, "compostable_chances");
+	private static final String DIRECTORY = "compostable_chances";
+
+	private static final String BUNDLED_DEFAULTS = "/data/" + Compostables.MOD_ID + "/" + DIRECTORY + "/default.json";
+
+	private static volatile List<Entry> pending = List.of();
+
+	/** Whether a server in this process has resolved its data, which the client must not replace */
+	private static volatile boolean serverResolved;
+
+	private record Entry(Identifier id, boolean tag, float chance, boolean farmer) {
+	}
+
+	/**
+	 * Register the reload listener and the tag resolution hook
+	 */
+	public static void register() {
+		ResourceManagerHelper.get(ResourceType.SERVER_DATA).registerReloadListener(new CompostableTableLoader());
+		CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+			if (!client) {
+				serverResolved = true;
+				resolve(pending);
+			} else if (!serverResolved) {
+				resolve(loadBundledDefaults());
+			}
+		});
+		ServerLifecycleEvents.SERVER_STOPPED.register(server -> serverResolved = false);
+	}
+
+	@Override
+	public Identifier getFabricId() {
+		return ID;
+	}
+
+	@Override
+	public void reload(ResourceManager manager) {
+		List<Entry> entries = new ArrayList<>();
+
+		for (Map.Entry<Identifier, Resource> file : manager.findResources(DIRECTORY, id -> id.getPath().endsWith(".json")).entrySet()) {
+			try (Reader reader = file.getValue().getReader()) {
+				parse(JsonParser.parseReader(reader).getAsJsonObject(), file.getKey(), entries);
+			} catch (Exception e) {
+				Compostables.LOGGER.error("Failed to load compostable chances from {}", file.getKey(), e);
+			}
+		}
+
+		pending = List.copyOf(entries);
+	}
+
+	/**
+	 * Add the entries of one chance file, after clearing everything so far if it replaces
+	 */
+	private static void parse(JsonObject json, Object source, List<Entry> entries) {
+		if (json.has("replace") && json.get("replace").getAsBoolean()) {
+			entries.clear();
+		}
+
+		for (Map.Entry<String, JsonElement> value : json.getAsJsonObject("values").entrySet()) {
+			String key = value.getKey();
+			boolean tag = key.startsWith("#");
+			Identifier id = Identifier.tryParse(tag ? key.substring(1) : key);
+			JsonElement element = value.getValue();
+			boolean farmer = element.isJsonObject() && element.getAsJsonObject().has("farmer")
+				&& element.getAsJsonObject().get("farmer").getAsBoolean();
+			float chance = element.isJsonObject() ? element.getAsJsonObject().get("chance").getAsFloat() : element.getAsFloat();
+
+			if (id == null || chance < 0.0f || chance > 1.0f) {
+				Compostables.LOGGER.warn("Skipping invalid compostable entry '{}' = {} in {}", key, element, source);
+				continue;
+			}
+			entries.add(new Entry(id, tag, chance, farmer));
+		}
+	}
+
+	/**
+	 * The mod's own default.json, read from the mod jar for clients
+	 */
+	private static List<Entry> loadBundledDefaults() {
+		List<Entry> entries = new ArrayList<>();
+		try (InputStream in = CompostableTableLoader.class.getResourceAsStream(BUNDLED_DEFAULTS)) {
+			if (in == null) {
+				throw new IOException("Missing " + BUNDLED_DEFAULTS);
+			}
+			parse(JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8)).getAsJsonObject(), BUNDLED_DEFAULTS, entries);
+		} catch (Exception e) {
+			Compostables.LOGGER.error("Failed to load the bundled compostable chances", e);
+		}
+		return entries;
+	}
+
+	/**
+	 * Resolve the parsed entries against the item registry and tags and swap
+	 * the result into the live table and the farmers' gatherables
+	 */
+	private static void resolve(List<Entry> entries) {
+		long start = System.nanoTime();
+		Reference2FloatOpenHashMap<Item> resolved = new Reference2FloatOpenHashMap<>();
+		Reference2FloatOpenHashMap<Item> explicit = new Reference2FloatOpenHashMap<>();
+		Reference2BooleanOpenHashMap<Item> farmer = new Reference2BooleanOpenHashMap<>();
+		Reference2BooleanOpenHashMap<Item> explicitFarmer = new Reference2BooleanOpenHashMap<>();
+		int missing = 0;
+
+		for (Entry entry : entries) {
+			if (entry.tag()) {
+				for (RegistryEntry<Item> item : Registries.ITEM.iterateEntries(TagKey.of(RegistryKeys.ITEM, entry.id()))) {
+					resolved.put(item.value(), entry.chance());
+					farmer.put(item.value(), entry.farmer());
+				}
+			} else if (Registries.ITEM.containsId(entry.id())) {
+				Item item = Registries.ITEM.get(entry.id());
+				explicit.put(item, entry.chance());
+				explicitFarmer.put(item, entry.farmer());
+			} else {
+				// Version-dependent items (e.g. blue and brown eggs) are simply absent
+				Compostables.LOGGER.debug("Compostable item {} does not exist in this version, skipping", entry.id());
+				missing++;
+			}
+		}
+		resolved.putAll(explicit);
+		farmer.putAll(explicitFarmer);
+
+		// Farmers only gather what the final table can actually compost
+		ImmutableSet.Builder<Item> gatherables = ImmutableSet.builder();
+		for (Reference2BooleanMap.Entry<Item> entry : farmer.reference2BooleanEntrySet()) {
+			if (entry.getBooleanValue() && resolved.getFloat(entry.getKey()) > 0.0f) {
+				gatherables.add(entry.getKey());
+			}
+		}
+
+		CompostableTable.apply(resolved);
+		ImmutableSet<Item> farmerGatherables = gatherables.build();
+		FarmerGatherables.apply(farmerGatherables);
+		Compostables.LOGGER.info("Registered {} new compostable items, {} gathered by farmers ({} unavailable in this version) in {} µs",
+			resolved.size(), farmerGatherables.size(), missing, (System.nanoTime() - start) / 1000);
+	}
+}
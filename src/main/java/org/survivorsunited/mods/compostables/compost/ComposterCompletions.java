@@ -0,0 +1,156 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import it.unimi.dsi.fastutil.longs.Long2LongMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ObjectIterator;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.ComposterBlock;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.sound.SoundCategory;
+import net.minecraft.sound.SoundEvents;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.metrics.CompostablesMetrics;
+import org.survivorsunited.mods.compostables.util.PerWorld;
+
+/**
+ * Turns full composters into ready ones without scheduled block ticks
+ * Composters filled by the mod are kept in per-chunk lists with the time they
+ * are due, the same 20 ticks vanilla waits, and completed in one batched pass
+ * every composterCompletionInterval ticks. Chunks that aren't ticking are
+ * skipped and dropped on unload; instead of persisting anything, full
+ * composters are picked up again from the block palette when the chunk loads.
+ * ComposterBlockMixin queues composters here in place of vanilla's tick.
+ */
+public final class ComposterCompletions {
+	/** Ticks from reaching level 7 to bone meal being ready, as in vanilla */
+	private static final int COMPLETION_DELAY = 20;
+
+	private static final PerWorld<Long2ObjectOpenHashMap<Long2LongOpenHashMap>> PENDING = new PerWorld<>(world -> new Long2ObjectOpenHashMap<>());
+
+	private ComposterCompletions() {
+	}
+
+	public static void register() {
+		if (!CompostablesConfig.lazyComposterCompletion) {
+			return;
+		}
+
+		ServerTickEvents.END_WORLD_TICK.register(ComposterCompletions::process);
+		ServerChunkEvents.CHUNK_LOAD.register(ComposterCompletions::catchUp);
+		ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> {
+			Long2ObjectOpenHashMap<Long2LongOpenHashMap> pending = PENDING.getIfPresent(world);
+			if (pending != null) {
+				pending.remove(chunk.getPos().toLong());
+			}
+		});
+	}
+
+	/**
+	 * Complete a composter that just reached level 7, in place of vanilla's
+	 * scheduled tick
+	 */
+	public static void schedule(ServerWorld world, BlockPos pos) {
+		add(world, pos.asLong(), world.getTime() + COMPLETION_DELAY);
+	}
+
+	private static void add(ServerWorld world, long pos, long due) {
+		PENDING.get(world)
+			.computeIfAbsent(ChunkPos.toLong(BlockPos.unpackLongX(pos) >> 4, BlockPos.unpackLongZ(pos) >> 4), key -> new Long2LongOpenHashMap())
+			.put(pos, due);
+	}
+
+	private static void process(ServerWorld world) {
+		long now = world.getTime();
+		if (now % CompostablesConfig.composterCompletionInterval != 0) {
+			return;
+		}
+
+		Long2ObjectOpenHashMap<Long2LongOpenHashMap> pending = PENDING.getIfPresent(world);
+		if (pending == null || pending.isEmpty()) {
+			return;
+		}
+
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		ObjectIterator<Long2ObjectMap.Entry<Long2LongOpenHashMap>> chunks = pending.long2ObjectEntrySet().fastIterator();
+		while (chunks.hasNext()) {
+			Long2ObjectMap.Entry<Long2LongOpenHashMap> chunk = chunks.next();
+			// Composters in chunks that aren't ticking wait, like their block ticks would
+			if (!world.shouldTickBlocksInChunk(chunk.getLongKey())) {
+				continue;
+			}
+
+			ObjectIterator<Long2LongMap.Entry> composters = chunk.getValue().long2LongEntrySet().fastIterator();
+			while (composters.hasNext()) {
+				Long2LongMap.Entry composter = composters.next();
+				if (composter.getLongValue() > now) {
+					continue;
+				}
+				composters.remove();
+				complete(world, pos.set(composter.getLongKey()));
+			}
+			if (chunk.getValue().isEmpty()) {
+				chunks.remove();
+			}
+		}
+	}
+
+	/**
+	 * Same as ComposterBlock.scheduledTick
+	 */
+	private static void complete(ServerWorld world, BlockPos pos) {
+		BlockState state = world.getBlockState(pos);
+		if (isWaiting(state)) {
+			world.setBlockState(pos, state.cycle(ComposterBlock.LEVEL), 3);
+			world.playSound(null, pos, SoundEvents.BLOCK_COMPOSTER_READY, SoundCategory.BLOCKS, 1.0f, 1.0f);
+			CompostablesMetrics.COMPOSTER_UPDATES.increment();
+		}
+	}
+
+	/**
+	 * Queue the full composters of a chunk that was unloaded before they completed
+	 * Sections whose palette has no full composter are skipped without a scan.
+	 * Composters saved with a scheduled tick, from before lazyComposterCompletion
+	 * was turned on, are left to that tick.
+	 */
+	private static void catchUp(ServerWorld world, WorldChunk chunk) {
+		ChunkSection[] sections = chunk.getSectionArray();
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		for (int i = 0; i < sections.length; i++) {
+			ChunkSection section = sections[i];
+			if (section.isEmpty() || !section.hasAny(ComposterCompletions::isWaiting)) {
+				continue;
+			}
+
+			int baseX = chunk.getPos().getStartX();
+			int baseY = ChunkSectionPos.getBlockCoord(chunk.sectionIndexToCoord(i));
+			int baseZ = chunk.getPos().getStartZ();
+			for (int y = 0; y < 16; y++) {
+				for (int z = 0; z < 16; z++) {
+					for (int x = 0; x < 16; x++) {
+						if (!isWaiting(section.getBlockState(x, y, z))) {
+							continue;
+						}
+						pos.set(baseX + x, baseY + y, baseZ + z);
+						if (!chunk.getBlockTickScheduler().isQueued(pos, Blocks.COMPOSTER)) {
+							add(world, pos.asLong(), world.getTime());
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static boolean isWaiting(BlockState state) {
+		return state.isOf(Blocks.COMPOSTER) && state.get(ComposterBlock.LEVEL) == CompostLogic.MAX_FILL_LEVEL;
+	}
+}
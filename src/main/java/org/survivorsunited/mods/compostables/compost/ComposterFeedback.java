@@ -0,0 +1,118 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import it.unimi.dsi.fastutil.longs.Long2ByteMap;
+import it.unimi.dsi.fastutil.longs.Long2ByteOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2LongOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.network.packet.s2c.play.WorldEventS2CPacket;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldEvents;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.util.PerWorld;
+
+/**
+ * Aggregated sound and particle feedback for composters
+ * Outcomes are collected per composter during the tick and sent at the end of
+ * it as at most one composter world event (sound plus particles on the client),
+ * only to players within feedbackRange and at most once per
+ * feedbackCooldownTicks per composter. A success in the same tick wins over
+ * any failures.
+ */
+public final class ComposterFeedback {
+	private static final byte SUCCESS = 1;
+	private static final byte FAILURE = 2;
+
+	private static final PerWorld<Pending> PENDING = new PerWorld<>(world -> new Pending());
+
+	private static final class Pending {
+		private final Long2ByteOpenHashMap outcomes = new Long2ByteOpenHashMap();
+		/** Acting player for failures that are only shown to them */
+		private final Long2ObjectOpenHashMap<ServerPlayerEntity> failActors = new Long2ObjectOpenHashMap<>();
+		private final Long2LongOpenHashMap lastSent = new Long2LongOpenHashMap();
+	}
+
+	private ComposterFeedback() {
+	}
+
+	public static void register() {
+		ServerTickEvents.END_WORLD_TICK.register(ComposterFeedback::flush);
+	}
+
+	/**
+	 * Queue feedback for a composter that gained a level
+	 */
+	public static void success(World world, BlockPos pos) {
+		if (world instanceof ServerWorld serverWorld) {
+			Pending pending = PENDING.get(serverWorld);
+			long key = pos.asLong();
+			pending.outcomes.put(key, SUCCESS);
+			pending.failActors.remove(key);
+		}
+	}
+
+	/**
+	 * Queue feedback for a composting attempt that failed
+	 *
+	 * @param actor the player who caused it, or null for automation
+	 */
+	public static void failure(World world, BlockPos pos, PlayerEntity actor) {
+		if (world instanceof ServerWorld serverWorld) {
+			Pending pending = PENDING.get(serverWorld);
+			long key = pos.asLong();
+			if (pending.outcomes.get(key) == SUCCESS) {
+				return;
+			}
+			pending.outcomes.put(key, FAILURE);
+			if (CompostablesConfig.failFeedbackToActorOnly && actor instanceof ServerPlayerEntity player) {
+				pending.failActors.put(key, player);
+			}
+		}
+	}
+
+	private static void flush(ServerWorld world) {
+		Pending pending = PENDING.getIfPresent(world);
+		if (pending == null || pending.outcomes.isEmpty()) {
+			return;
+		}
+
+		long now = world.getTime();
+		int cooldown = CompostablesConfig.feedbackCooldownTicks;
+		double range = CompostablesConfig.feedbackRange;
+		double maxDistance = range * range;
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+
+		for (Long2ByteMap.Entry entry : pending.outcomes.long2ByteEntrySet()) {
+			long key = entry.getLongKey();
+			if (now - pending.lastSent.getOrDefault(key, Long.MIN_VALUE / 2) < cooldown) {
+				continue;
+			}
+			pending.lastSent.put(key, now);
+
+			pos.set(key);
+			boolean success = entry.getByteValue() == SUCCESS;
+			WorldEventS2CPacket packet = new WorldEventS2CPacket(WorldEvents.COMPOSTER_USED, pos.toImmutable(), success ? 1 : 0, false);
+
+			ServerPlayerEntity actor = pending.failActors.get(key);
+			if (actor != null) {
+				actor.networkHandler.sendPacket(packet);
+				continue;
+			}
+
+			for (ServerPlayerEntity player : world.getPlayers()) {
+				if (player.squaredDistanceTo(pos.getX() + 0.5, pos.getY() + 0.5, pos.getZ() + 0.5) <= maxDistance) {
+					player.networkHandler.sendPacket(packet);
+				}
+			}
+		}
+
+		pending.outcomes.clear();
+		pending.failActors.clear();
+		// Forget composters whose cooldown has passed
+		pending.lastSent.values().removeIf(sent -> now - sent >= cooldown);
+	}
+}
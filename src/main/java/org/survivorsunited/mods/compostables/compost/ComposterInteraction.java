@@ -0,0 +1,280 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import net.fabricmc.fabric.api.event.player.UseBlockCallback;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.ComposterBlock;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.BlockItem;
+import net.minecraft.item.Item;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.stat.Stats;
+import net.minecraft.util.ActionResult;
+import net.minecraft.util.Hand;
+import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import net.minecraft.world.event.GameEvent;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.journal.CompostJournal;
+import org.survivorsunited.mods.compostables.journal.JournalFormat;
+import org.survivorsunited.mods.compostables.metrics.CompostablesMetrics;
+
+/**
+ * Player composting
+ * Handles players using a compostable item on a composter. This runs from
+ * UseBlockCallback at the start of the interaction, before vanilla skips the
+ * block for sneaking players (which would place a held block item instead) and
+ * before vanilla's own onUseWithItem, which would otherwise compost every item
+ * in the table one at a time. Ready composters and anything that isn't
+ * compostable are left to vanilla, so bone meal extraction is unchanged. Like
+ * vanilla, every use counts towards the item's use statistic and a level gain
+ * emits a block change game event.
+ */
+public final class ComposterInteraction {
+	private ComposterInteraction() {
+	}
+
+	public static void register() {
+		UseBlockCallback.EVENT.register(ComposterInteraction::interact);
+	}
+
+	private static ActionResult interact(PlayerEntity player, World world, Hand hand, BlockHitResult hit) {
+		BlockPos pos = hit.getBlockPos();
+		BlockState state = world.getBlockState(pos);
+		if (!state.isOf(Blocks.COMPOSTER) || player.isSpectator()) {
+			return ActionResult.PASS;
+		}
+
+		ItemStack stack = player.getStackInHand(hand);
+		if (!CompostableTable.isCompostable(stack.getItem())
+			|| state.get(ComposterBlock.LEVEL) >= CompostLogic.READY_LEVEL) {
+			return ActionResult.PASS;
+		}
+
+		// The server decides the outcome; the client only needs to know the
+		// interaction is handled so it doesn't try to place the block
+		if (world.isClient) {
+			return ActionResult.SUCCESS;
+		}
+
+		// Time the whole handler, whichever way it exits
+		long start = System.nanoTime();
+		try {
+			return handleUse(state, (ServerWorld) world, pos, player, stack);
+		} finally {
+			CompostablesMetrics.recordOnUse(System.nanoTime() - start);
+		}
+	}
+
+	/**
+	 * Composting logic behind interact, for a compostable item on a composter
+	 * that isn't ready yet
+	 */
+	private static ActionResult handleUse(
+		BlockState state,
+		ServerWorld world,
+		BlockPos pos,
+		PlayerEntity player,
+		ItemStack stack
+	) {
+		Item item = stack.getItem();
+
+		// Include level increases from earlier this tick that haven't been applied yet
+		int currentLevel = ComposterUpdates.effectiveLevel(world, pos, state);
+		if (currentLevel >= CompostLogic.MAX_FILL_LEVEL) {
+			// Vanilla accepts the use and does nothing here either
+			CompostablesMetrics.recordFull(item);
+			CompostJournal.record(world, pos, item, JournalFormat.OUTCOME_FULL, 0, JournalFormat.SOURCE_PLAYER, player);
+			return ActionResult.SUCCESS;
+		}
+
+		// Throttle composter spam per chunk and per player before doing any work
+		if (!ComposterRateLimiter.tryAcquire(world, pos, player)) {
+			CompostablesMetrics.THROTTLED.increment();
+			return ActionResult.SUCCESS;
+		}
+
+		// Sneak-use (or the bulkCompostAlways option) composts a whole stack of block items at once
+		boolean bulk = isBulkUse(player) && item instanceof BlockItem;
+		float compostChance = CompostableTable.getChance(item);
+
+		// Credit mode: every item is consumed and adds its chance to the composter's credit
+		if (CompostablesConfig.creditComposting) {
+			int gained = compostWithCredit(state, world, pos, player, stack, compostChance, currentLevel, bulk ? stack.getCount() : 1);
+			CompostablesMetrics.recordAttempt(item, gained);
+			journal(world, pos, item, gained, player);
+			return ActionResult.SUCCESS;
+		}
+
+		if (bulk) {
+			int composted = compostWholeStack(state, world, pos, player, stack, compostChance, currentLevel);
+			CompostablesMetrics.recordAttempt(item, composted);
+			journal(world, pos, item, composted, player);
+			return ActionResult.SUCCESS;
+		}
+
+		if (CompostLogic.decide(item, currentLevel, world.getRandom()) == CompostLogic.Outcome.SUCCESS) {
+			// Successfully composted - increment the level
+			// The block update is coalesced per tick; a full composter is queued for completion
+			ComposterUpdates.addLevels(world, pos, state, 1);
+
+			// Queue the composting sound and particles
+			ComposterFeedback.success(world, pos);
+			consume(player, stack, 1);
+			used(world, pos, state, player, item, 1, currentLevel, 1);
+
+			CompostablesMetrics.recordAttempt(item, 1);
+			journal(world, pos, item, 1, player);
+		} else {
+			// Composting failed - queue the fail sound to indicate the attempt
+			ComposterFeedback.failure(world, pos, player);
+
+			// Block items are kept on failure; everything else is consumed as in vanilla
+			if (CompostLogic.consumesOnFailure(item)) {
+				consume(player, stack, 1);
+			}
+			used(world, pos, state, player, item, 1, currentLevel, 0);
+
+			CompostablesMetrics.recordAttempt(item, 0);
+			journal(world, pos, item, 0, player);
+		}
+		return ActionResult.SUCCESS;
+	}
+
+	/**
+	 * Journal a player's composting attempt; the journal skips it when disabled
+	 */
+	private static void journal(World world, BlockPos pos, Item item, int levelsGained, PlayerEntity player) {
+		int outcome = levelsGained > 0 ? JournalFormat.OUTCOME_SUCCESS : JournalFormat.OUTCOME_FAILURE;
+		CompostJournal.record(world, pos, item, outcome, levelsGained, JournalFormat.SOURCE_PLAYER, player);
+	}
+
+	/**
+	 * What vanilla's onUseWithItem records besides the level: the item's use
+	 * statistic, and the block change game event sculk sensors listen for when
+	 * the composter gained levels
+	 */
+	private static void used(
+		ServerWorld world,
+		BlockPos pos,
+		BlockState state,
+		PlayerEntity player,
+		Item item,
+		int items,
+		int currentLevel,
+		int gained
+	) {
+		if (items > 0) {
+			player.increaseStat(Stats.USED.getOrCreateStat(item), items);
+		}
+		if (gained > 0) {
+			BlockState newState = state.with(ComposterBlock.LEVEL, Math.min(CompostLogic.MAX_FILL_LEVEL, currentLevel + gained));
+			world.emitGameEvent(GameEvent.BLOCK_CHANGE, pos, GameEvent.Emitter.of(player, newState));
+		}
+	}
+
+	/**
+	 * Whether this interaction should compost the whole held stack
+	 */
+	private static boolean isBulkUse(PlayerEntity player) {
+		return CompostablesConfig.bulkCompostAlways
+			|| (CompostablesConfig.bulkCompostOnSneak && player.isSneaking());
+	}
+
+	/**
+	 * Removes used items from the held stack, unless the player is in creative mode
+	 * After a multi-item use the player's inventory is resynced, since a client
+	 * without the mod may have predicted placing the block instead
+	 */
+	private static void consume(PlayerEntity player, ItemStack stack, int count) {
+		if (player.getAbilities().creativeMode || count == 0) {
+			return;
+		}
+		stack.decrement(count);
+		if (count > 1 && player instanceof ServerPlayerEntity serverPlayer) {
+			serverPlayer.currentScreenHandler.syncState();
+		}
+	}
+
+	/**
+	 * Composts a whole stack in one interaction
+	 * Runs one roll per item in the stack, exactly as if the player had used the
+	 * composter once per item, stopping early when the composter fills up. As
+	 * with single uses, the first item into an empty composter always composts.
+	 * The final level is applied with a single level update, one feedback event is queued
+	 * and the stack is decremented once by the number of items that composted.
+	 *
+	 * @return the number of items composted
+	 */
+	private static int compostWholeStack(
+		BlockState state,
+		ServerWorld world,
+		BlockPos pos,
+		PlayerEntity player,
+		ItemStack stack,
+		float compostChance,
+		int currentLevel
+	) {
+		int composted = CompostLogic.rollItems(world.getRandom(), compostChance, currentLevel, stack.getCount());
+
+		if (composted == 0) {
+			// Every roll failed - same feedback as a single failed attempt
+			ComposterFeedback.failure(world, pos, player);
+			return 0;
+		}
+
+		ComposterUpdates.addLevels(world, pos, state, composted);
+		ComposterFeedback.success(world, pos);
+
+		// Failed rolls never consume block items, matching the per-item path
+		Item item = stack.getItem();
+		consume(player, stack, composted);
+		used(world, pos, state, player, item, composted, currentLevel, composted);
+		return composted;
+	}
+
+	/**
+	 * Composts up to the given number of items through the composter's credit
+	 * Unlike the random paths every item is consumed, since each one adds its
+	 * chance to the credit; a level is gained each time the credit reaches 1.0.
+	 * The first item into an empty composter gains a level without using the
+	 * credit, as in vanilla. Stops when the composter fills up.
+	 *
+	 * @return the number of levels gained
+	 */
+	private static int compostWithCredit(
+		BlockState state,
+		ServerWorld world,
+		BlockPos pos,
+		PlayerEntity player,
+		ItemStack stack,
+		float compostChance,
+		int currentLevel,
+		int items
+	) {
+		int consumed = 0;
+		int gained = 0;
+		while (consumed < items && currentLevel + gained < CompostLogic.MAX_FILL_LEVEL) {
+			consumed++;
+			if (CompostLogic.alwaysComposts(compostChance, currentLevel + gained)
+				|| CompostCredit.add(world, pos, compostChance)) {
+				gained++;
+			}
+		}
+
+		ComposterUpdates.addLevels(world, pos, state, gained);
+		if (gained > 0) {
+			ComposterFeedback.success(world, pos);
+		} else {
+			ComposterFeedback.failure(world, pos, player);
+		}
+
+		Item item = stack.getItem();
+		consume(player, stack, consumed);
+		used(world, pos, state, player, item, consumed, currentLevel, gained);
+		return gained;
+	}
+}
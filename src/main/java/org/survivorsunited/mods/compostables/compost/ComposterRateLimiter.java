@@ -0,0 +1,111 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import it.unimi.dsi.fastutil.HashCommon;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.text.Text;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.util.PerWorld;
+
+/**
+ * Token buckets limiting composter interactions per chunk and per player
+ * Buckets live in fixed-size, direct-mapped tables of primitive arrays, so
+ * checking a limit never allocates. When two chunks or players share a slot they
+ * share its tokens: the newcomer takes the slot over as it is, without a refill,
+ * so a collision can only make the limit stricter, never switch it off.
+ * Only interactions that would actually compost are counted (see
+ * ComposterInteraction); bone meal extraction and full composters aren't limited.
+ */
+public final class ComposterRateLimiter {
+	private static final int CHUNK_SLOTS = 4096;
+	private static final int PLAYER_SLOTS = 1024;
+	/** Ticks between "slow down" messages to the same player */
+	private static final int MESSAGE_COOLDOWN = 20;
+
+	private static final PerWorld<Buckets> CHUNKS = new PerWorld<>(world -> new Buckets(CHUNK_SLOTS));
+	private static final Buckets PLAYERS = new Buckets(PLAYER_SLOTS);
+	private static final long[] lastMessageTick = new long[PLAYER_SLOTS];
+
+	private static final class Buckets {
+		private final long[] keys;
+		private final float[] tokens;
+		private final long[] lastRefill;
+		private final boolean[] used;
+
+		private Buckets(int size) {
+			keys = new long[size];
+			tokens = new float[size];
+			lastRefill = new long[size];
+			used = new boolean[size];
+		}
+
+		private int slot(long key, float capacity, long now) {
+			int slot = (int) HashCommon.mix(key) & (keys.length - 1);
+			if (!used[slot]) {
+				used[slot] = true;
+				tokens[slot] = capacity;
+				lastRefill[slot] = now;
+			}
+			// A different owner inherits the current tokens rather than a fresh bucket
+			keys[slot] = key;
+			return slot;
+		}
+
+		private void refill(int slot, float capacity, float perTick, long now) {
+			long elapsed = now - lastRefill[slot];
+			if (elapsed > 0) {
+				tokens[slot] = Math.min(capacity, tokens[slot] + elapsed * perTick);
+				lastRefill[slot] = now;
+			}
+		}
+	}
+
+	private ComposterRateLimiter() {
+	}
+
+	/**
+	 * Take one token from both the composter's chunk and the player's bucket
+	 * Nothing is taken unless both have a token available.
+	 *
+	 * @return false if the interaction should be throttled
+	 */
+	public static boolean tryAcquire(ServerWorld world, BlockPos pos, PlayerEntity player) {
+		if (!CompostablesConfig.rateLimitEnabled) {
+			return true;
+		}
+
+		long now = world.getServer().getTicks();
+
+		Buckets chunks = CHUNKS.get(world);
+		float chunkCapacity = CompostablesConfig.rateLimitChunkBurst;
+		int chunkSlot = chunks.slot(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4), chunkCapacity, now);
+		chunks.refill(chunkSlot, chunkCapacity, CompostablesConfig.rateLimitChunkPerSecond / 20.0f, now);
+
+		float playerCapacity = CompostablesConfig.rateLimitPlayerBurst;
+		int playerSlot = PLAYERS.slot(playerKey(player), playerCapacity, now);
+		PLAYERS.refill(playerSlot, playerCapacity, CompostablesConfig.rateLimitPlayerPerSecond / 20.0f, now);
+
+		if (chunks.tokens[chunkSlot] < 1.0f || PLAYERS.tokens[playerSlot] < 1.0f) {
+			notifyThrottled(player, playerSlot, now);
+			return false;
+		}
+
+		chunks.tokens[chunkSlot] -= 1.0f;
+		PLAYERS.tokens[playerSlot] -= 1.0f;
+		return true;
+	}
+
+	private static void notifyThrottled(PlayerEntity player, int playerSlot, long now) {
+		if (now - lastMessageTick[playerSlot] >= MESSAGE_COOLDOWN) {
+			lastMessageTick[playerSlot] = now;
+			player.sendMessage(Text.translatableWithFallback("message.compostables.throttled",
+				"Composters here are busy - slow down!"), true);
+		}
+	}
+
+	private static long playerKey(PlayerEntity player) {
+		return player.getUuid().getMostSignificantBits() ^ player.getUuid().getLeastSignificantBits();
+	}
+}
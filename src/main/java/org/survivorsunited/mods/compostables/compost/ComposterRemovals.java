@@ -0,0 +1,32 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.survivorsunited.mods.compostables.block.CompostablesBlocks;
+import org.survivorsunited.mods.compostables.villager.ComposterIndex;
+
+/**
+ * Drops the mod's per-composter state when a composter or an industrial
+ * composter is broken or replaced
+ * Called from ComposterRemovalMixin, whose hook differs between Minecraft
+ * versions (see src/compat).
+ */
+public final class ComposterRemovals {
+	private ComposterRemovals() {
+	}
+
+	/**
+	 * Whether the block keeps state here that must go with it
+	 */
+	public static boolean tracks(BlockState state) {
+		return state.isOf(Blocks.COMPOSTER)
+			|| (CompostablesBlocks.INDUSTRIAL_COMPOSTER != null && state.isOf(CompostablesBlocks.INDUSTRIAL_COMPOSTER));
+	}
+
+	public static void onRemoved(ServerWorld world, BlockPos pos) {
+		ComposterIndex.remove(world, pos);
+		CompostCredit.remove(world, pos);
+	}
+}
@@ -0,0 +1,123 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import com.google.common.collect.MapMaker;
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.StoragePreconditions;
+import net.fabricmc.fabric.api.transfer.v1.storage.base.InsertionOnlyStorage;
+import net.fabricmc.fabric.api.transfer.v1.transaction.TransactionContext;
+import net.fabricmc.fabric.api.transfer.v1.transaction.base.SnapshotParticipant;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.item.Item;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.survivorsunited.mods.compostables.journal.CompostJournal;
+import org.survivorsunited.mods.compostables.journal.JournalFormat;
+
+import java.util.Map;
+
+/**
+ * Insertion side of a composter for the Fabric Transfer API
+ * Unlike Fabric's default wrapper, which takes one item per transaction, this
+ * accepts as many items as could possibly fit in one insert. Accepted items are
+ * consumed like a vanilla hopper insert; their rolls use the same chance table
+ * and rules as player composting, including the first item into an empty
+ * composter always composting, and happen once the outermost transaction
+ * commits, followed by a single level update.
+ */
+public final class ComposterStorage extends SnapshotParticipant<Integer> implements InsertionOnlyStorage<ItemVariant> {
+	// One instance per composter so every insert in a transaction shares the pending state
+	private static final Map<WorldLocation, ComposterStorage> STORAGES = new MapMaker().concurrencyLevel(1).weakValues().makeMap();
+
+	private record WorldLocation(World world, BlockPos pos) {
+	}
+
+	private final World world;
+	private final BlockPos pos;
+
+	/** Chances of the items accepted in the current transaction, rolled on commit */
+	private final float[] pendingChances = new float[CompostLogic.MAX_FILL_LEVEL];
+	private final Item[] pendingItems = new Item[CompostLogic.MAX_FILL_LEVEL];
+	private int pendingCount;
+
+	private ComposterStorage(WorldLocation location) {
+		this.world = location.world();
+		this.pos = location.pos();
+	}
+
+	/**
+	 * Get the insertion storage for the composter at the given position
+	 */
+	public static ComposterStorage get(World world, BlockPos pos) {
+		return STORAGES.computeIfAbsent(new WorldLocation(world, pos.toImmutable()), ComposterStorage::new);
+	}
+
+	@Override
+	public long insert(ItemVariant resource, long maxAmount, TransactionContext transaction) {
+		StoragePreconditions.notBlankNotNegative(resource, maxAmount);
+
+		float chance = CompostableTable.getChance(resource.getItem());
+		if (chance <= 0.0f) {
+			return 0;
+		}
+
+		BlockState state = world.getBlockState(pos);
+		if (!state.isOf(Blocks.COMPOSTER)) {
+			return 0;
+		}
+
+		// Accept only what could fit if every roll succeeded
+		int room = CompostLogic.MAX_FILL_LEVEL - ComposterUpdates.effectiveLevel(world, pos, state) - pendingCount;
+		int accepted = (int) Math.min(maxAmount, room);
+		if (accepted <= 0) {
+			return 0;
+		}
+
+		updateSnapshots(transaction);
+		for (int i = 0; i < accepted; i++) {
+			pendingItems[pendingCount] = resource.getItem();
+			pendingChances[pendingCount++] = chance;
+		}
+		return accepted;
+	}
+
+	@Override
+	protected Integer createSnapshot() {
+		return pendingCount;
+	}
+
+	@Override
+	protected void readSnapshot(Integer snapshot) {
+		pendingCount = snapshot;
+	}
+
+	@Override
+	protected void onFinalCommit() {
+		int count = pendingCount;
+		pendingCount = 0;
+
+		BlockState state = world.getBlockState(pos);
+		if (!state.isOf(Blocks.COMPOSTER)) {
+			return;
+		}
+
+		int level = ComposterUpdates.effectiveLevel(world, pos, state);
+		int gained = 0;
+		for (int i = 0; i < count && level + gained < CompostLogic.MAX_FILL_LEVEL; i++) {
+			boolean success = CompostCredit.roll(world, pos, pendingChances[i], level + gained);
+			if (success) {
+				gained++;
+			}
+			CompostJournal.record(world, pos, pendingItems[i], success ? JournalFormat.OUTCOME_SUCCESS : JournalFormat.OUTCOME_FAILURE,
+				success ? 1 : 0, JournalFormat.SOURCE_AUTOMATION, null);
+		}
+		ComposterUpdates.addLevels(world, pos, state, gained);
+
+		// Same feedback as a vanilla hopper insert, aggregated with everything else this tick
+		if (gained > 0) {
+			ComposterFeedback.success(world, pos);
+		} else {
+			ComposterFeedback.failure(world, pos, null);
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package org.survivorsunited.mods.compostables.compost;
+
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.block.ComposterBlock;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.metrics.CompostablesMetrics;
+import org.survivorsunited.mods.compostables.util.PerWorld;
+
+/**
+ * Coalesces composter level increases made by the mod during a tick
+ * Instead of a setBlockState (neighbour updates, client sync, comparator
+ * re-evaluation) for every composted item, increments are collected per
+ * composter and applied once at the end of the world tick. A composter that
+ * fills up is queued for completion by ComposterBlock.onBlockAdded, either as
+ * vanilla's scheduled tick or with ComposterCompletions.
+ *
+ * Pending increments are stored relative to the live block state, so level
+ * changes made by vanilla in the same tick are never overwritten. Vanilla
+ * inserts (hoppers, droppers and farmers composting seeds) flush the
+ * composter first through flush(world, pos), so they never accept an item
+ * based on a level that the pending increments have already filled.
+ */
+public final class ComposterUpdates {
+	private static final PerWorld<Long2IntOpenHashMap> PENDING = new PerWorld<>(world -> new Long2IntOpenHashMap());
+	/** Increments being applied by flushAll, moved out of PENDING first */
+	private static final PerWorld<Long2IntOpenHashMap> APPLYING = new PerWorld<>(world -> new Long2IntOpenHashMap());
+
+	private ComposterUpdates() {
+	}
+
+	public static void register() {
+		ServerTickEvents.END_WORLD_TICK.register(ComposterUpdates::flushAll);
+	}
+
+	/**
+	 * The composter's level including increments not yet applied this tick
+	 */
+	public static int effectiveLevel(World world, BlockPos pos, BlockState state) {
+		int level = state.get(ComposterBlock.LEVEL);
+		if (world instanceof ServerWorld serverWorld) {
+			level += pendingLevels(PENDING.getIfPresent(serverWorld), pos.asLong())
+				+ pendingLevels(APPLYING.getIfPresent(serverWorld), pos.asLong());
+		}
+		return Math.min(CompostLogic.MAX_FILL_LEVEL, level);
+	}
+
+	/**
+	 * Raise a composter's level, either at the end of the tick or immediately
+	 * when coalescing is disabled
+	 */
+	public static void addLevels(World world, BlockPos pos, BlockState state, int levels) {
+		if (levels <= 0) {
+			return;
+		}
+
+		if (CompostablesConfig.coalesceComposterUpdates && world instanceof ServerWorld serverWorld) {
+			PENDING.get(serverWorld).addTo(pos.asLong(), levels);
+			return;
+		}
+
+		apply(world, pos, state, levels);
+	}
+
+	/**
+	 * Apply one composter's pending increments now, before vanilla reads its level
+	 *
+	 * @return whether the composter's block state changed
+	 */
+	public static boolean flush(ServerWorld world, BlockPos pos) {
+		long key = pos.asLong();
+		Long2IntOpenHashMap pending = PENDING.getIfPresent(world);
+		int levels = pending != null ? pending.remove(key) : 0;
+
+		// During flushAll the composter may be waiting in the map being applied;
+		// zeroing its value, rather than removing it, keeps that iteration valid
+		Long2IntOpenHashMap applying = APPLYING.getIfPresent(world);
+		if (applying != null && applying.containsKey(key)) {
+			levels += applying.put(key, 0);
+		}
+
+		BlockState state = world.getBlockState(pos);
+		if (levels <= 0 || !state.isOf(Blocks.COMPOSTER)) {
+			return false;
+		}
+		return apply(world, pos, state, levels);
+	}
+
+	private static void flushAll(ServerWorld world) {
+		Long2IntOpenHashMap pending = PENDING.getIfPresent(world);
+		if (pending == null || pending.isEmpty()) {
+			return;
+		}
+
+		// Block updates can reach flush (a modded hopper reacting to the change)
+		// or queue more levels, so the map they touch isn't the one being iterated.
+		// Levels queued meanwhile are applied next tick.
+		Long2IntOpenHashMap applying = APPLYING.get(world);
+		applying.putAll(pending);
+		pending.clear();
+
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		for (Long2IntMap.Entry entry : applying.long2IntEntrySet()) {
+			if (entry.getIntValue() <= 0) {
+				continue;
+			}
+			pos.set(entry.getLongKey());
+			BlockState state = world.getBlockState(pos);
+			if (state.isOf(Blocks.COMPOSTER)) {
+				apply(world, pos.toImmutable(), state, entry.getIntValue());
+			}
+		}
+		applying.clear();
+	}
+
+	private static int pendingLevels(Long2IntOpenHashMap pending, long pos) {
+		return pending != null ? pending.get(pos) : 0;
+	}
+
+	private static boolean apply(World world, BlockPos pos, BlockState state, int levels) {
+		int level = state.get(ComposterBlock.LEVEL);
+		if (level >= CompostLogic.MAX_FILL_LEVEL) {
+			return false;
+		}
+
+		int newLevel = Math.min(CompostLogic.MAX_FILL_LEVEL, level + levels);
+		// Reaching level 7 queues the composter's completion from onBlockAdded
+		world.setBlockState(pos, state.with(ComposterBlock.LEVEL, newLevel), 3);
+		CompostablesMetrics.COMPOSTER_UPDATES.increment();
+		return true;
+	}
+}
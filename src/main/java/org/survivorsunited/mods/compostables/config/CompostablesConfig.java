@@ -0,0 +1,246 @@
+package org.survivorsunited.mods.compostables.config;
+
+import net.fabricmc.loader.api.FabricLoader;
+import org.survivorsunited.mods.compostables.Compostables;
+import org.survivorsunited.mods.compostables.journal.JournalFormat;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * Server-side configuration for Compostables
+ * Values are read from config/compostables.properties at startup. Missing keys
+ * fall back to their defaults and the file is rewritten so that new options
+ * show up after an update.
+ */
+public final class CompostablesConfig {
+	private static final String FILE_NAME = "compostables.properties";
+
+	/**
+	 * Sneak-using a composter with a compostable block item composts the whole
+	 * held stack in a single interaction
+	 */
+	public static boolean bulkCompostOnSneak = false;
+
+	/**
+	 * Always compost the whole held stack, whether the player is sneaking or not
+	 */
+	public static boolean bulkCompostAlways = false;
+
+	/**
+	 * Collect composter level increases during a tick and apply them once per
+	 * composter at the end of the tick instead of one block update per item
+	 */
+	public static boolean coalesceComposterUpdates = false;
+
+	/**
+	 * Replace compost rolls with a per-composter credit: every item adds its
+	 * chance and a level is gained each time the credit reaches 1.0
+	 */
+	public static boolean creditComposting = false;
+
+	/**
+	 * Complete full composters in a batched per-chunk pass instead of giving
+	 * each one a scheduled block tick
+	 */
+	public static boolean lazyComposterCompletion = false;
+
+	/**
+	 * Ticks between two composter completion passes
+	 */
+	public static int composterCompletionInterval = 10;
+
+	/**
+	 * Farmers empty the extra compostables they gather into the nearest
+	 * composter that isn't full while working at their job site
+	 */
+	public static boolean farmerComposting = false;
+
+	/**
+	 * How far from a working farmer, in blocks, a composter can be for the
+	 * farmer to reach into it; farmers don't walk away from their job site to
+	 * compost, so this is capped at 4
+	 */
+	public static int farmerComposterRadius = 2;
+
+	/**
+	 * Farmers find items to pick up through per-tick, per-chunk buckets of
+	 * gatherable item entities instead of vanilla's per-villager scan
+	 */
+	public static boolean farmerItemBuckets = false;
+
+	/**
+	 * Limit composter interactions with token buckets per chunk and per player
+	 */
+	public static boolean rateLimitEnabled = false;
+
+	/**
+	 * Composter interactions a chunk allows per second, and how many can burst at once
+	 */
+	public static int rateLimitChunkPerSecond = 40;
+	public static int rateLimitChunkBurst = 80;
+
+	/**
+	 * Composter interactions a player is allowed per second, and how many can burst at once
+	 */
+	public static int rateLimitPlayerPerSecond = 10;
+	public static int rateLimitPlayerBurst = 20;
+
+	/**
+	 * Players further than this many blocks from a composter don't receive its
+	 * sound and particle feedback
+	 */
+	public static int feedbackRange = 16;
+
+	/**
+	 * Minimum ticks between two feedback events from the same composter
+	 */
+	public static int feedbackCooldownTicks = 2;
+
+	/**
+	 * Only the player who caused a failed composting attempt hears it;
+	 * successes are still sent to everyone in range
+	 */
+	public static boolean failFeedbackToActorOnly = false;
+
+	/**
+	 * Register the industrial composter block; clients then need the mod too
+	 */
+	public static boolean industrialComposter = false;
+
+	/**
+	 * Items an industrial composter can buffer
+	 */
+	public static int industrialComposterCapacity = 1024;
+
+	/**
+	 * Ticks between two processing cycles of an industrial composter, and how
+	 * many buffered items each cycle composts
+	 */
+	public static int industrialComposterInterval = 20;
+	public static int industrialComposterItemsPerCycle = 64;
+
+	/**
+	 * Bone meal an industrial composter holds before it stops processing
+	 */
+	public static int industrialComposterOutputCapacity = 576;
+
+	/**
+	 * Path of a Prometheus text-format metrics file, rewritten periodically for a
+	 * node exporter textfile collector; empty disables the exporter
+	 */
+	public static String metricsFile = "";
+
+	/**
+	 * Seconds between metrics file writes
+	 */
+	public static int metricsIntervalSeconds = 15;
+
+	/**
+	 * Write every composting event to a binary journal for offline analysis
+	 */
+	public static boolean journalEnabled = false;
+
+	/**
+	 * Journal directory, relative to the game directory
+	 */
+	public static String journalDirectory = "compost-journal";
+
+	/**
+	 * Events per journal file, and how many files are kept before the oldest is deleted
+	 * A journal file is at most 2 GB, so journalFileRecords is capped at
+	 * JournalFormat.MAX_SEGMENT_RECORDS (about 67 million).
+	 */
+	public static int journalFileRecords = 1_000_000;
+	public static int journalFiles = 8;
+
+	private CompostablesConfig() {
+	}
+
+	/**
+	 * Load the configuration file, creating it with default values if it does not exist
+	 */
+	public static void load() {
+		Path path = FabricLoader.getInstance().getConfigDir().resolve(FILE_NAME);
+		Properties properties = new Properties();
+
+		if (Files.exists(path)) {
+			try (Reader reader = Files.newBufferedReader(path)) {
+				properties.load(reader);
+			} catch (IOException e) {
+				Compostables.LOGGER.warn("Failed to read {}, using defaults", path, e);
+			}
+		}
+
+		bulkCompostOnSneak = getBoolean(properties, "bulkCompostOnSneak", bulkCompostOnSneak);
+		bulkCompostAlways = getBoolean(properties, "bulkCompostAlways", bulkCompostAlways);
+		coalesceComposterUpdates = getBoolean(properties, "coalesceComposterUpdates", coalesceComposterUpdates);
+		creditComposting = getBoolean(properties, "creditComposting", creditComposting);
+		lazyComposterCompletion = getBoolean(properties, "lazyComposterCompletion", lazyComposterCompletion);
+		composterCompletionInterval = getInt(properties, "composterCompletionInterval", composterCompletionInterval, 1);
+		farmerComposting = getBoolean(properties, "farmerComposting", farmerComposting);
+		farmerComposterRadius = getInt(properties, "farmerComposterRadius", farmerComposterRadius, 1, 4);
+		farmerItemBuckets = getBoolean(properties, "farmerItemBuckets", farmerItemBuckets);
+		rateLimitEnabled = getBoolean(properties, "rateLimitEnabled", rateLimitEnabled);
+		rateLimitChunkPerSecond = getInt(properties, "rateLimitChunkPerSecond", rateLimitChunkPerSecond, 1);
+		rateLimitChunkBurst = getInt(properties, "rateLimitChunkBurst", rateLimitChunkBurst, 1);
+		rateLimitPlayerPerSecond = getInt(properties, "rateLimitPlayerPerSecond", rateLimitPlayerPerSecond, 1);
+		rateLimitPlayerBurst = getInt(properties, "rateLimitPlayerBurst", rateLimitPlayerBurst, 1);
+		feedbackRange = getInt(properties, "feedbackRange", feedbackRange, 1);
+		feedbackCooldownTicks = getInt(properties, "feedbackCooldownTicks", feedbackCooldownTicks, 1);
+		failFeedbackToActorOnly = getBoolean(properties, "failFeedbackToActorOnly", failFeedbackToActorOnly);
+		industrialComposter = getBoolean(properties, "industrialComposter", industrialComposter);
+		industrialComposterCapacity = getInt(properties, "industrialComposterCapacity", industrialComposterCapacity, 1);
+		industrialComposterInterval = getInt(properties, "industrialComposterInterval", industrialComposterInterval, 1);
+		industrialComposterItemsPerCycle = getInt(properties, "industrialComposterItemsPerCycle", industrialComposterItemsPerCycle, 1);
+		industrialComposterOutputCapacity = getInt(properties, "industrialComposterOutputCapacity", industrialComposterOutputCapacity, 1);
+		metricsFile = getString(properties, "metricsFile", metricsFile);
+		metricsIntervalSeconds = getInt(properties, "metricsIntervalSeconds", metricsIntervalSeconds, 1);
+		journalEnabled = getBoolean(properties, "journalEnabled", journalEnabled);
+		journalDirectory = getString(properties, "journalDirectory", journalDirectory);
+		journalFileRecords = getInt(properties, "journalFileRecords", journalFileRecords, 1024, JournalFormat.MAX_SEGMENT_RECORDS);
+		journalFiles = getInt(properties, "journalFiles", journalFiles, 1);
+
+		try (Writer writer = Files.newBufferedWriter(path)) {
+			properties.store(writer, "Compostables configuration");
+		} catch (IOException e) {
+			Compostables.LOGGER.warn("Failed to write {}", path, e);
+		}
+	}
+
+	private static boolean getBoolean(Properties properties, String key, boolean defaultValue) {
+		String value = properties.getProperty(key);
+		boolean result = value != null ? Boolean.parseBoolean(value.trim()) : defaultValue;
+		properties.setProperty(key, Boolean.toString(result));
+		return result;
+	}
+
+	private static int getInt(Properties properties, String key, int defaultValue, int min) {
+		return getInt(properties, key, defaultValue, min, Integer.MAX_VALUE);
+	}
+
+	private static int getInt(Properties properties, String key, int defaultValue, int min, int max) {
+		String value = properties.getProperty(key);
+		int result = defaultValue;
+		if (value != null) {
+			try {
+				result = Math.min(max, Math.max(min, Integer.parseInt(value.trim())));
+			} catch (NumberFormatException e) {
+				Compostables.LOGGER.warn("Invalid value '{}' for {}, using {}", value, key, defaultValue);
+			}
+		}
+		properties.setProperty(key, Integer.toString(result));
+		return result;
+	}
+
+	private static String getString(Properties properties, String key, String defaultValue) {
+		String value = properties.getProperty(key);
+		String result = value != null ? value.trim() : defaultValue;
+		properties.setProperty(key, result);
+		return result;
+	}
+}
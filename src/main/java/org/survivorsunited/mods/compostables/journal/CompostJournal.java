@@ -0,0 +1,314 @@
+package org.survivorsunited.mods.compostables.journal;
+
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.objects.Reference2IntOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+import org.survivorsunited.mods.compostables.Compostables;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.metrics.CompostablesMetrics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Binary journal of composting events for balancing analytics
+ * The server thread writes fixed-size records into a single-producer,
+ * single-consumer ring of longs without locking or allocating; a full ring
+ * drops the record and counts it. A daemon thread drains the ring into
+ * memory-mapped segment files and rotates them once they fill up, keeping the
+ * newest journalFiles segments. See JournalFormat for the layout and
+ * CompostJournalReader for turning segments into CSV.
+ */
+public final class CompostJournal {
+	/** Ring capacity in records, a power of two */
+	private static final int CAPACITY = 1 << 16;
+	private static final long DRAIN_INTERVAL_MILLIS = 100;
+
+	private static final long[] ring = new long[CAPACITY * JournalFormat.RECORD_LONGS];
+	/** Next record the server thread writes */
+	private static final AtomicLong head = new AtomicLong();
+	/** Next record the writer thread reads */
+	private static final AtomicLong tail = new AtomicLong();
+
+	private static volatile boolean running;
+	private static Reference2IntOpenHashMap<RegistryKey<World>> dimensions = new Reference2IntOpenHashMap<>();
+
+	// Writer thread state
+	private static ScheduledExecutorService executor;
+	private static Path directory;
+	private static long session;
+	private static long nextSegment;
+	private static MappedByteBuffer segment;
+	private static int segmentRecords;
+
+	private CompostJournal() {
+	}
+
+	/**
+	 * Start and stop the journal with the server when journalEnabled is set
+	 */
+	public static void register() {
+		if (!CompostablesConfig.journalEnabled) {
+			return;
+		}
+
+		ServerLifecycleEvents.SERVER_STARTED.register(CompostJournal::start);
+		ServerLifecycleEvents.SERVER_STOPPING.register(server -> stop());
+	}
+
+	/**
+	 * Record a composting event
+	 * Called on the server thread only. Never blocks or allocates.
+	 *
+	 * @param player the acting player, or null for automation and villagers
+	 */
+	public static void record(World world, BlockPos pos, Item item, int outcome, int levels, int source, PlayerEntity player) {
+		if (!running) {
+			return;
+		}
+
+		long index = head.getPlain();
+		if (index - tail.getAcquire() >= CAPACITY) {
+			CompostablesMetrics.JOURNAL_DROPPED.increment();
+			return;
+		}
+
+		int offset = (int) (index & (CAPACITY - 1)) * JournalFormat.RECORD_LONGS;
+		ring[offset] = world.getTime();
+		ring[offset + 1] = pos.asLong();
+		ring[offset + 2] = JournalFormat.packDetails(Registries.ITEM.getRawId(item),
+			dimensions.getOrDefault(world.getRegistryKey(), JournalFormat.UNKNOWN_DIMENSION), outcome, levels);
+		ring[offset + 3] = JournalFormat.packActor(source, player != null ? player.getUuid().hashCode() : 0);
+		head.setRelease(index + 1);
+	}
+
+	private static synchronized void start(MinecraftServer server) {
+		directory = FabricLoader.getInstance().getGameDir().resolve(CompostablesConfig.journalDirectory);
+		session = System.currentTimeMillis();
+
+		Reference2IntOpenHashMap<RegistryKey<World>> indexes = new Reference2IntOpenHashMap<>();
+		for (RegistryKey<World> key : server.getWorldRegistryKeys()) {
+			indexes.put(key, indexes.size());
+		}
+		dimensions = indexes;
+
+		try {
+			Files.createDirectories(directory);
+			writePalette(indexes);
+			nextSegment = findNextSegment();
+		} catch (IOException e) {
+			Compostables.LOGGER.error("Failed to set up the compost journal in {}", directory, e);
+			return;
+		}
+
+		// Anything left over from a previous session belongs to stale worlds
+		tail.setRelease(head.getPlain());
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Compostables Journal Writer");
+			thread.setDaemon(true);
+			return thread;
+		});
+		executor.scheduleWithFixedDelay(CompostJournal::drain, DRAIN_INTERVAL_MILLIS, DRAIN_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+		running = true;
+		Compostables.LOGGER.info("Writing the compost journal to {}", directory);
+	}
+
+	private static synchronized void stop() {
+		if (executor == null) {
+			return;
+		}
+
+		running = false;
+		executor.shutdown();
+		try {
+			executor.awaitTermination(5, TimeUnit.SECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		executor = null;
+
+		// Flush whatever the writer thread hadn't picked up yet
+		drain();
+		if (segment != null) {
+			segment.force();
+			segment = null;
+		}
+	}
+
+	/**
+	 * Copy every published record from the ring into the current segment
+	 */
+	private static void drain() {
+		long index = tail.getPlain();
+		long end = head.getAcquire();
+		if (index == end) {
+			return;
+		}
+
+		try {
+			for (; index < end; index++) {
+				if (segment == null || segmentRecords == CompostablesConfig.journalFileRecords) {
+					rotate();
+				}
+				int offset = (int) (index & (CAPACITY - 1)) * JournalFormat.RECORD_LONGS;
+				int position = JournalFormat.HEADER_SIZE + segmentRecords * JournalFormat.RECORD_SIZE;
+				for (int i = 0; i < JournalFormat.RECORD_LONGS; i++) {
+					segment.putLong(position + i * Long.BYTES, ring[offset + i]);
+				}
+				segmentRecords++;
+			}
+		} catch (IOException | RuntimeException e) {
+			// Never let an exception escape: the executor would silently stop scheduling the writer
+			Compostables.LOGGER.warn("Failed to write the compost journal, dropping {} records", end - index, e);
+			CompostablesMetrics.JOURNAL_DROPPED.add(end - index);
+			index = end;
+		} finally {
+			tail.setRelease(index);
+			if (segment != null) {
+				segment.putLong(JournalFormat.COUNT_OFFSET, segmentRecords);
+			}
+		}
+	}
+
+	/**
+	 * Close the current segment, open the next one and delete everything
+	 * older than the newest journalFiles segments, along with the palettes
+	 * only those segments used
+	 */
+	private static void rotate() throws IOException {
+		if (segment != null) {
+			segment.force();
+		}
+
+		int capacity = CompostablesConfig.journalFileRecords;
+		Path path = directory.resolve(segmentName(nextSegment));
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			segment = channel.map(FileChannel.MapMode.READ_WRITE, 0, JournalFormat.HEADER_SIZE + (long) capacity * JournalFormat.RECORD_SIZE);
+		}
+		segment.putInt(0, JournalFormat.MAGIC);
+		segment.putInt(4, JournalFormat.VERSION);
+		segment.putInt(8, JournalFormat.RECORD_SIZE);
+		segment.putInt(12, capacity);
+		segment.putLong(JournalFormat.COUNT_OFFSET, 0);
+		segment.putLong(JournalFormat.SESSION_OFFSET, session);
+		segmentRecords = 0;
+
+		deleteSegmentsBefore(nextSegment - CompostablesConfig.journalFiles + 1);
+		deleteUnusedPalettes();
+		nextSegment++;
+	}
+
+	/**
+	 * Delete every segment numbered below first
+	 * Scans the directory rather than deleting a single file, so segments left
+	 * behind by an earlier run with a larger journalFiles are cleaned up too.
+	 */
+	private static void deleteSegmentsBefore(long first) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, JournalFormat.SEGMENT_PREFIX + "*" + JournalFormat.SEGMENT_SUFFIX)) {
+			for (Path file : files) {
+				long number = segmentNumber(file);
+				if (number >= 0 && number < first) {
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Delete the palettes of sessions that no remaining segment belongs to
+	 * The current session's palette is always kept.
+	 */
+	private static void deleteUnusedPalettes() throws IOException {
+		LongOpenHashSet sessions = new LongOpenHashSet();
+		sessions.add(session);
+		ByteBuffer header = ByteBuffer.allocate(Long.BYTES);
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, JournalFormat.SEGMENT_PREFIX + "*" + JournalFormat.SEGMENT_SUFFIX)) {
+			for (Path file : files) {
+				if (segmentNumber(file) < 0) {
+					continue;
+				}
+				try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+					header.clear();
+					if (channel.read(header, JournalFormat.SESSION_OFFSET) == Long.BYTES) {
+						sessions.add(header.getLong(0));
+					}
+				}
+			}
+		}
+
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, JournalFormat.PALETTE_PREFIX + "*" + JournalFormat.PALETTE_SUFFIX)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				try {
+					long owner = Long.parseLong(name.substring(JournalFormat.PALETTE_PREFIX.length(), name.length() - JournalFormat.PALETTE_SUFFIX.length()));
+					if (!sessions.contains(owner)) {
+						Files.deleteIfExists(file);
+					}
+				} catch (NumberFormatException e) {
+					// Not one of ours
+				}
+			}
+		}
+	}
+
+	private static void writePalette(Reference2IntOpenHashMap<RegistryKey<World>> indexes) throws IOException {
+		Path path = directory.resolve(JournalFormat.PALETTE_PREFIX + session + JournalFormat.PALETTE_SUFFIX);
+		try (Writer writer = Files.newBufferedWriter(path)) {
+			for (Reference2IntOpenHashMap.Entry<RegistryKey<World>> entry : indexes.reference2IntEntrySet()) {
+				writer.write("dimension\t" + entry.getIntValue() + "\t" + entry.getKey().getValue() + "\n");
+			}
+			for (Item item : Registries.ITEM) {
+				writer.write("item\t" + Registries.ITEM.getRawId(item) + "\t" + Registries.ITEM.getId(item) + "\n");
+			}
+		}
+	}
+
+	/**
+	 * Continue numbering after the newest segment already in the directory
+	 */
+	private static long findNextSegment() throws IOException {
+		long next = 0;
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, JournalFormat.SEGMENT_PREFIX + "*" + JournalFormat.SEGMENT_SUFFIX)) {
+			for (Path file : files) {
+				next = Math.max(next, segmentNumber(file) + 1);
+			}
+		}
+		return next;
+	}
+
+	/**
+	 * The number in a segment's file name, or -1 if the file isn't a segment
+	 */
+	private static long segmentNumber(Path file) {
+		String name = file.getFileName().toString();
+		try {
+			return Long.parseLong(name.substring(JournalFormat.SEGMENT_PREFIX.length(), name.length() - JournalFormat.SEGMENT_SUFFIX.length()));
+		} catch (NumberFormatException e) {
+			// Not one of ours
+			return -1;
+		}
+	}
+
+	private static String segmentName(long number) {
+		return JournalFormat.SEGMENT_PREFIX + String.format("%08d", number) + JournalFormat.SEGMENT_SUFFIX;
+	}
+}
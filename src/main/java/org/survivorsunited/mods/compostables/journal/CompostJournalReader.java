@@ -0,0 +1,149 @@
+package org.survivorsunited.mods.compostables.journal;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Offline converter from compost journal segments to CSV
+ * Runs outside the game, straight from the mod jar:
+ *
+ * <pre>
+ * java -cp su-compostables.jar org.survivorsunited.mods.compostables.journal.CompostJournalReader &lt;journal directory&gt; [output.csv]
+ * </pre>
+ *
+ * Segments are read oldest first; raw item IDs and dimension indexes are
+ * resolved through each segment's session palette. Without an output file the
+ * CSV goes to standard output.
+ */
+public final class CompostJournalReader {
+	private static final String CSV_HEADER = "session,world_time,dimension,x,y,z,item,outcome,levels,source,player_hash";
+
+	private final Map<Long, Palette> palettes = new HashMap<>();
+	private final Path directory;
+
+	private record Palette(Map<Integer, String> dimensions, Map<Integer, String> items) {
+	}
+
+	private CompostJournalReader(Path directory) {
+		this.directory = directory;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 2) {
+			System.err.println("Usage: CompostJournalReader <journal directory> [output.csv]");
+			System.exit(2);
+		}
+
+		CompostJournalReader reader = new CompostJournalReader(Path.of(args[0]));
+		if (args.length == 2) {
+			try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Path.of(args[1])))) {
+				reader.convert(out);
+			}
+		} else {
+			PrintWriter out = new PrintWriter(System.out);
+			reader.convert(out);
+			out.flush();
+		}
+	}
+
+	private void convert(PrintWriter out) throws IOException {
+		out.println(CSV_HEADER);
+		for (Path segment : segments()) {
+			convertSegment(segment, out);
+		}
+	}
+
+	private List<Path> segments() throws IOException {
+		List<Path> segments = new ArrayList<>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, JournalFormat.SEGMENT_PREFIX + "*" + JournalFormat.SEGMENT_SUFFIX)) {
+			files.forEach(segments::add);
+		}
+		// Zero-padded numbers sort in write order
+		segments.sort(null);
+		return segments;
+	}
+
+	private void convertSegment(Path path, PrintWriter out) throws IOException {
+		ByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(path)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		if (buffer.capacity() < JournalFormat.HEADER_SIZE || buffer.getInt(0) != JournalFormat.MAGIC) {
+			System.err.println("Skipping " + path + ": not a compost journal segment");
+			return;
+		}
+		if (buffer.getInt(4) != JournalFormat.VERSION || buffer.getInt(8) != JournalFormat.RECORD_SIZE) {
+			System.err.println("Skipping " + path + ": unsupported format version " + buffer.getInt(4));
+			return;
+		}
+
+		long session = buffer.getLong(JournalFormat.SESSION_OFFSET);
+		long count = Math.min(buffer.getLong(JournalFormat.COUNT_OFFSET),
+			(buffer.capacity() - JournalFormat.HEADER_SIZE) / JournalFormat.RECORD_SIZE);
+		Palette palette = palette(session);
+
+		for (int i = 0; i < count; i++) {
+			int position = JournalFormat.HEADER_SIZE + i * JournalFormat.RECORD_SIZE;
+			long time = buffer.getLong(position);
+			long pos = buffer.getLong(position + 8);
+			long details = buffer.getLong(position + 16);
+			long actor = buffer.getLong(position + 24);
+
+			int itemRawId = (int) (details >>> 32);
+			int dimension = (int) (details >>> 16) & 0xFFFF;
+			int outcome = (int) (details >>> 8) & 0xFF;
+			int levels = (int) details & 0xFF;
+			int source = (int) (actor >>> 32);
+			int playerHash = (int) actor;
+
+			out.println(session + ","
+				+ time + ","
+				+ palette.dimensions().getOrDefault(dimension, Integer.toString(dimension)) + ","
+				+ JournalFormat.unpackX(pos) + ","
+				+ JournalFormat.unpackY(pos) + ","
+				+ JournalFormat.unpackZ(pos) + ","
+				+ palette.items().getOrDefault(itemRawId, Integer.toString(itemRawId)) + ","
+				+ JournalFormat.name(JournalFormat.OUTCOMES, outcome) + ","
+				+ levels + ","
+				+ JournalFormat.name(JournalFormat.SOURCES, source) + ","
+				+ (source == JournalFormat.SOURCE_PLAYER ? Integer.toHexString(playerHash) : ""));
+		}
+	}
+
+	/**
+	 * Load the palette of a session; a missing palette leaves raw numbers in the output
+	 */
+	private Palette palette(long session) throws IOException {
+		Palette cached = palettes.get(session);
+		if (cached != null) {
+			return cached;
+		}
+
+		Palette palette = new Palette(new HashMap<>(), new HashMap<>());
+		Path path = directory.resolve(JournalFormat.PALETTE_PREFIX + session + JournalFormat.PALETTE_SUFFIX);
+		if (Files.exists(path)) {
+			for (String line : Files.readAllLines(path)) {
+				String[] parts = line.split("\t");
+				if (parts.length != 3) {
+					continue;
+				}
+				Map<Integer, String> target = parts[0].equals("dimension") ? palette.dimensions() : palette.items();
+				target.put(Integer.parseInt(parts[1]), parts[2]);
+			}
+		} else {
+			System.err.println("No palette for session " + session + ", writing raw IDs");
+		}
+		palettes.put(session, palette);
+		return palette;
+	}
+}
@@ -0,0 +1,87 @@
+package org.survivorsunited.mods.compostables.journal;
+
+/**
+ * Binary layout of compost journal segments, shared by the writer and the
+ * offline reader
+ * A segment starts with a fixed header followed by fixed-size records:
+ *
+ * <pre>
+ * header (32 bytes)
+ *   int   magic 'CJNL'
+ *   int   format version
+ *   int   record size in bytes
+ *   int   record capacity
+ *   long  records written, updated after every drain
+ *   long  session start (epoch millis), names the palette-&lt;session&gt;.tsv file
+ *
+ * record (32 bytes)
+ *   long  world time
+ *   long  packed block position
+ *   long  item raw ID (32) | dimension index (16) | outcome (8) | levels gained (8)
+ *   long  source (32) | player UUID hash (32, 0 for automation)
+ * </pre>
+ *
+ * Raw item IDs and dimension indexes are only meaningful within a session, so
+ * each session writes a palette mapping them to identifiers. Everything is big
+ * endian. Kept free of Minecraft classes so the reader runs outside the game.
+ */
+public final class JournalFormat {
+	public static final int MAGIC = 0x434A4E4C;
+	public static final int VERSION = 1;
+	public static final int HEADER_SIZE = 32;
+	public static final int RECORD_SIZE = 32;
+	public static final int RECORD_LONGS = RECORD_SIZE / Long.BYTES;
+	/** Most records a segment can hold; a segment is mapped as one buffer, which is limited to 2 GB */
+	public static final int MAX_SEGMENT_RECORDS = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+
+	public static final int COUNT_OFFSET = 16;
+	public static final int SESSION_OFFSET = 24;
+
+	public static final String SEGMENT_PREFIX = "journal-";
+	public static final String SEGMENT_SUFFIX = ".bin";
+	public static final String PALETTE_PREFIX = "palette-";
+	public static final String PALETTE_SUFFIX = ".tsv";
+
+	public static final int OUTCOME_SUCCESS = 0;
+	public static final int OUTCOME_FAILURE = 1;
+	public static final int OUTCOME_FULL = 2;
+	static final String[] OUTCOMES = {"success", "failure", "full"};
+
+	public static final int SOURCE_PLAYER = 0;
+	public static final int SOURCE_AUTOMATION = 1;
+	public static final int SOURCE_FARMER = 2;
+	public static final int SOURCE_INDUSTRIAL = 3;
+	static final String[] SOURCES = {"player", "automation", "farmer", "industrial"};
+
+	/** Dimension index written when a world wasn't known at session start */
+	public static final int UNKNOWN_DIMENSION = 0xFFFF;
+
+	private JournalFormat() {
+	}
+
+	public static long packDetails(int itemRawId, int dimension, int outcome, int levels) {
+		return ((long) itemRawId << 32) | ((long) (dimension & 0xFFFF) << 16) | ((outcome & 0xFF) << 8) | (levels & 0xFF);
+	}
+
+	public static long packActor(int source, int playerHash) {
+		return ((long) source << 32) | (playerHash & 0xFFFFFFFFL);
+	}
+
+	// Same bit layout as BlockPos.asLong: 26 bits X, 26 bits Z, 12 bits Y
+
+	static int unpackX(long pos) {
+		return (int) (pos << 64 - 38 - 26 >> 64 - 26);
+	}
+
+	static int unpackY(long pos) {
+		return (int) (pos << 64 - 12 >> 64 - 12);
+	}
+
+	static int unpackZ(long pos) {
+		return (int) (pos << 64 - 12 - 26 >> 64 - 26);
+	}
+
+	static String name(String[] names, int code) {
+		return code >= 0 && code < names.length ? names[code] : Integer.toString(code);
+	}
+}
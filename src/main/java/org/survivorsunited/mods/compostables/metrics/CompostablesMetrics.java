@@ -0,0 +1,114 @@
+package org.survivorsunited.mods.compostables.metrics;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and timers for composter activity handled by the mod
+ * Striped LongAdders and a per-item AtomicLongArray indexed by raw item ID keep
+ * recording lock-free and allocation-free on the composting hot path.
+ */
+public final class CompostablesMetrics {
+	/** Player composter uses with a compostable item, whatever the outcome */
+	public static final LongAdder ATTEMPTS = new LongAdder();
+	/** Interactions that raised the composter level */
+	public static final LongAdder SUCCESSES = new LongAdder();
+	/** Interactions where every roll failed */
+	public static final LongAdder FAILURES = new LongAdder();
+	/** Interactions rejected because the composter was already full */
+	public static final LongAdder FULL_REJECTIONS = new LongAdder();
+	/** Interactions dropped by the rate limiter */
+	public static final LongAdder THROTTLED = new LongAdder();
+	/** Composter levels gained (one per item composted) */
+	public static final LongAdder LEVELS_GAINED = new LongAdder();
+
+	/** Composter block updates made by the mod */
+	public static final LongAdder COMPOSTER_UPDATES = new LongAdder();
+
+	/** Player composter uses handled by ComposterInteraction */
+	public static final LongAdder ON_USE_CALLS = new LongAdder();
+	/** Total time spent handling player composter uses */
+	public static final LongAdder ON_USE_NANOS = new LongAdder();
+
+	/** Compost journal records dropped because the ring was full or a write failed */
+	public static final LongAdder JOURNAL_DROPPED = new LongAdder();
+
+	private static volatile AtomicLongArray itemAttempts = new AtomicLongArray(0);
+
+	private CompostablesMetrics() {
+	}
+
+	/**
+	 * Size the per-item counters to the item registry when a server starts
+	 * Other mods may still register items after this mod initializes; by
+	 * SERVER_STARTING the registry is frozen and no world is ticking yet.
+	 */
+	public static void register() {
+		ServerLifecycleEvents.SERVER_STARTING.register(server -> resizeItemAttempts(Registries.ITEM.size()));
+	}
+
+	/**
+	 * Grow the per-item counters to the given size, keeping the counts so far
+	 * (an integrated server can start more than once per game session)
+	 */
+	private static void resizeItemAttempts(int size) {
+		AtomicLongArray old = itemAttempts;
+		if (old.length() >= size) {
+			return;
+		}
+		AtomicLongArray resized = new AtomicLongArray(size);
+		for (int i = 0; i < old.length(); i++) {
+			resized.set(i, old.get(i));
+		}
+		itemAttempts = resized;
+	}
+
+	public static void recordOnUse(long nanos) {
+		ON_USE_CALLS.increment();
+		ON_USE_NANOS.add(nanos);
+	}
+
+	/**
+	 * Record an interaction that rolled for one or more items
+	 *
+	 * @param levelsGained composter levels gained, 0 if every roll failed
+	 */
+	public static void recordAttempt(Item item, int levelsGained) {
+		ATTEMPTS.increment();
+		if (levelsGained > 0) {
+			SUCCESSES.increment();
+			LEVELS_GAINED.add(levelsGained);
+		} else {
+			FAILURES.increment();
+		}
+		recordItem(item);
+	}
+
+	/**
+	 * Record an interaction rejected because the composter was full
+	 */
+	public static void recordFull(Item item) {
+		ATTEMPTS.increment();
+		FULL_REJECTIONS.increment();
+		recordItem(item);
+	}
+
+	private static void recordItem(Item item) {
+		int rawId = Registries.ITEM.getRawId(item);
+		AtomicLongArray counts = itemAttempts;
+		if (rawId >= 0 && rawId < counts.length()) {
+			counts.incrementAndGet(rawId);
+		}
+	}
+
+	/**
+	 * Per-item attempt counts indexed by raw item ID
+	 */
+	public static AtomicLongArray itemAttempts() {
+		return itemAttempts;
+	}
+}
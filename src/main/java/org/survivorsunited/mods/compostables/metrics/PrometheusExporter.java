@@ -0,0 +1,97 @@
+package org.survivorsunited.mods.compostables.metrics;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.minecraft.registry.Registries;
+import org.survivorsunited.mods.compostables.Compostables;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Periodically writes CompostablesMetrics in Prometheus text format
+ * The file is written next to its target and moved into place so a node
+ * exporter textfile collector never reads a partial file. Writing happens on
+ * a daemon thread and never touches the server thread.
+ */
+public final class PrometheusExporter {
+	private static ScheduledExecutorService executor;
+
+	private PrometheusExporter() {
+	}
+
+	/**
+	 * Start and stop the exporter with the server when metricsFile is configured
+	 */
+	public static void register() {
+		if (CompostablesConfig.metricsFile.isEmpty()) {
+			return;
+		}
+
+		Path target = Path.of(CompostablesConfig.metricsFile);
+		ServerLifecycleEvents.SERVER_STARTED.register(server -> start(target));
+		ServerLifecycleEvents.SERVER_STOPPING.register(server -> stop());
+	}
+
+	private static synchronized void start(Path target) {
+		executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "Compostables Metrics Exporter");
+			thread.setDaemon(true);
+			return thread;
+		});
+		int interval = CompostablesConfig.metricsIntervalSeconds;
+		executor.scheduleAtFixedRate(() -> write(target), interval, interval, TimeUnit.SECONDS);
+		Compostables.LOGGER.info("Writing composter metrics to {} every {}s", target, interval);
+	}
+
+	private static synchronized void stop() {
+		if (executor != null) {
+			executor.shutdownNow();
+			executor = null;
+		}
+	}
+
+	private static void write(Path target) {
+		Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+		try {
+			try (Writer writer = Files.newBufferedWriter(temp)) {
+				writeCounter(writer, "compostables_attempts_total", "Player composter uses with a compostable item", CompostablesMetrics.ATTEMPTS.sum());
+				writeCounter(writer, "compostables_successes_total", "Interactions that raised the composter level", CompostablesMetrics.SUCCESSES.sum());
+				writeCounter(writer, "compostables_failures_total", "Interactions where every roll failed", CompostablesMetrics.FAILURES.sum());
+				writeCounter(writer, "compostables_full_rejections_total", "Interactions rejected because the composter was full", CompostablesMetrics.FULL_REJECTIONS.sum());
+				writeCounter(writer, "compostables_throttled_total", "Interactions dropped by the rate limiter", CompostablesMetrics.THROTTLED.sum());
+				writeCounter(writer, "compostables_levels_gained_total", "Composter levels gained", CompostablesMetrics.LEVELS_GAINED.sum());
+				writeCounter(writer, "compostables_composter_updates_total", "Composter block updates made by the mod", CompostablesMetrics.COMPOSTER_UPDATES.sum());
+				writeCounter(writer, "compostables_on_use_calls_total", "Player composter uses handled by the mod", CompostablesMetrics.ON_USE_CALLS.sum());
+				writeCounter(writer, "compostables_journal_dropped_total", "Compost journal records dropped", CompostablesMetrics.JOURNAL_DROPPED.sum());
+				writeCounter(writer, "compostables_on_use_seconds_total", "Time spent handling player composter uses", CompostablesMetrics.ON_USE_NANOS.sum() / 1.0e9);
+
+				writer.write("# HELP compostables_item_attempts_total Composter interactions per item\n");
+				writer.write("# TYPE compostables_item_attempts_total counter\n");
+				AtomicLongArray items = CompostablesMetrics.itemAttempts();
+				for (int rawId = 0; rawId < items.length(); rawId++) {
+					long count = items.get(rawId);
+					if (count > 0) {
+						writer.write("compostables_item_attempts_total{item=\"" + Registries.ITEM.getId(Registries.ITEM.get(rawId)) + "\"} " + count + "\n");
+					}
+				}
+			}
+			Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			Compostables.LOGGER.warn("Failed to write composter metrics to {}", target, e);
+		}
+	}
+
+	private static void writeCounter(Writer writer, String name, String help, double value) throws IOException {
+		writer.write("# HELP " + name + " " + help + "\n");
+		writer.write("# TYPE " + name + " counter\n");
+		writer.write(name + " " + value + "\n");
+	}
+}
@@ -1,100 +1,105 @@
 package org.survivorsunited.mods.compostables.mixin;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ComposterBlock;
-import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.item.BlockItem;
-import net.minecraft.item.Item;
-import net.minecraft.item.ItemStack;
-import net.minecraft.util.ActionResult;
-import net.minecraft.util.hit.BlockHitResult;
+import net.minecraft.block.InventoryProvider;
+import net.minecraft.inventory.SidedInventory;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldAccess;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.survivorsunited.mods.compostables.compost.CompostLogic;
+import org.survivorsunited.mods.compostables.compost.ComposterCompletions;
+import org.survivorsunited.mods.compostables.compost.ComposterUpdates;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.villager.ComposterIndex;
 
 /**
- * Mixin to allow block items to be composted instead of placed
- * This fixes the issue where block items (like carpets, wool, grass blocks, etc.)
- * cannot be placed into composters because Minecraft tries to place them as blocks
- * instead of composting them
+ * Composter block hooks
+ * Player composting itself runs from UseBlockCallback (see ComposterInteraction),
+ * ahead of vanilla's item handling and the sneak check that would place block
+ * items like carpets, wool and grass blocks instead of composting them.
  */
 @Mixin(ComposterBlock.class)
 public class ComposterBlockMixin {
 	
 	/**
-	 * Intercepts the onUse method to allow block items to be composted
-	 * When a player tries to use a block item on a composter, this mixin
-	 * checks if the item is registered as compostable and manually
-	 * triggers the composting logic, preventing block placement
+	 * Keeps the farmer composter index up to date as composters are placed, and
+	 * with lazyComposterCompletion queues full composters with
+	 * ComposterCompletions instead of vanilla's scheduled block tick
+	 * Vanilla schedules that tick here whenever a composter is set to level 7,
+	 * however the level was reached.
 	 */
 	@Inject(
-		method = "onUse",
+		method = "onBlockAdded",
 		at = @At("HEAD"),
 		cancellable = true
 	)
-	private void allowBlockItemComposting(
+	private void indexPlacedComposter(
 		BlockState state,
 		World world,
 		BlockPos pos,
-		PlayerEntity player,
-		BlockHitResult hit,
-		CallbackInfoReturnable<ActionResult> cir
+		BlockState oldState,
+		boolean notify,
+		CallbackInfo ci
 	) {
-		// Get the item stack from the player's main hand
-		ItemStack stack = player.getMainHandStack();
-		Item item = stack.getItem();
-		
-		// Check if the item is a block item (can be placed as a block)
-		// Block items include: carpets, wool, grass blocks, etc.
-		if (item instanceof BlockItem) {
-			// Check if the item is registered in the composter's compostable items map
-			// Use getFloatOrDefault to avoid deprecated get() method
-			float compostChance = ComposterBlock.ITEM_TO_LEVEL_INCREASE_CHANCE.getFloat(item);
-			if (compostChance > 0.0f) {
-				// The item is registered as compostable
-				// Get the current composter level from the block state
-				int currentLevel = state.get(ComposterBlock.LEVEL);
-				
-				// Check if the composter is not full (level < 7)
-				if (currentLevel < 7) {
-					// Check if the composting succeeds based on the chance
-					if (world.getRandom().nextFloat() < compostChance) {
-						// Successfully composted - increment the level
-						BlockState newState = state.with(ComposterBlock.LEVEL, currentLevel + 1);
-						world.setBlockState(pos, newState, 3);
-						
-						// Play the composting sound
-						world.playSound(null, pos, newState.getSoundGroup().getPlaceSound(), 
-							net.minecraft.sound.SoundCategory.BLOCKS, 1.0f, 1.0f);
-						
-						// Consume the item if not in creative mode
-						if (!player.getAbilities().creativeMode) {
-							stack.decrement(1);
-						}
-						
-						// Check if the composter is now full and ready to produce bone meal
-						if (newState.get(ComposterBlock.LEVEL) == 7) {
-							// Schedule a block tick to process the composter
-							world.scheduleBlockTick(pos, state.getBlock(), 20);
-						}
-						
-						cir.setReturnValue(ActionResult.SUCCESS);
-					} else {
-						// Composting failed - item is not consumed in vanilla behavior
-						// Play a fail sound to indicate the attempt
-						world.playSound(null, pos, state.getSoundGroup().getPlaceSound(), 
-							net.minecraft.sound.SoundCategory.BLOCKS, 0.3f, 0.5f);
-						
-						// Don't consume the item on failure (vanilla behavior)
-						// Return SUCCESS to prevent block placement
-						cir.setReturnValue(ActionResult.SUCCESS);
-					}
-				}
-			}
+		if (!(world instanceof ServerWorld serverWorld)) {
+			return;
+		}
+		if (!oldState.isOf(state.getBlock())) {
+			ComposterIndex.add(serverWorld, pos);
+		}
+		if (CompostablesConfig.lazyComposterCompletion && state.get(ComposterBlock.LEVEL) == CompostLogic.MAX_FILL_LEVEL) {
+			ComposterCompletions.schedule(serverWorld, pos);
+			ci.cancel();
 		}
 	}
-}
 
+	/**
+	 * Drops the second scheduled tick vanilla adds when an inserted item fills
+	 * the composter, which onBlockAdded has already queued
+	 */
+	@Redirect(
+		method = "addToComposter",
+		at = @At(
+			value = "INVOKE",
+			target = "Lnet/minecraft/world/WorldAccess;scheduleBlockTick(Lnet/minecraft/util/math/BlockPos;Lnet/minecraft/block/Block;I)V"
+		),
+		require = 0
+	)
+	private static void skipCompletionTick(WorldAccess world, BlockPos pos, Block block, int delay) {
+		if (CompostablesConfig.lazyComposterCompletion && world instanceof ServerWorld) {
+			return;
+		}
+		world.scheduleBlockTick(pos, block, delay);
+	}
+	
+	/**
+	 * Applies the composter's pending level increments before a hopper or
+	 * dropper gets its inventory, which captures the current block state
+	 * Without this, vanilla would accept an item at a stale level and the
+	 * pending increments would later be clamped on top of it.
+	 */
+	@Inject(
+		method = "getInventory",
+		at = @At("HEAD"),
+		cancellable = true
+	)
+	private void flushPendingLevels(
+		BlockState state,
+		WorldAccess world,
+		BlockPos pos,
+		CallbackInfoReturnable<SidedInventory> cir
+	) {
+		if (world instanceof ServerWorld serverWorld && ComposterUpdates.flush(serverWorld, pos)) {
+			cir.setReturnValue(((InventoryProvider) (Object) this).getInventory(world.getBlockState(pos), world, pos));
+		}
+	}
+}
@@ -0,0 +1,45 @@
+package org.survivorsunited.mods.compostables.mixin;
+
+import net.fabricmc.fabric.api.transfer.v1.item.ItemVariant;
+import net.fabricmc.fabric.api.transfer.v1.storage.Storage;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.Direction;
+import net.minecraft.world.World;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Pseudo;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.survivorsunited.mods.compostables.compost.ComposterStorage;
+
+/**
+ * Mixin to replace the insertion side of Fabric's composter item storage
+ * Fabric API registers its own composter provider before any mod can, and
+ * block API lookups keep the first provider, so the top face is swapped here
+ * instead. Extraction from the bottom stays with Fabric's wrapper.
+ */
+@Pseudo
+@Mixin(targets = "net.fabricmc.fabric.impl.transfer.item.ComposterWrapper", remap = false)
+public class ComposterWrapperMixin {
+	
+	/**
+	 * Returns the bulk ComposterStorage for inserts from above
+	 * require = 0 so a change to Fabric's internals falls back to its own wrapper
+	 */
+	@Inject(
+		method = "get",
+		at = @At("HEAD"),
+		cancellable = true,
+		require = 0
+	)
+	private static void useBulkInsertStorage(
+		World world,
+		BlockPos pos,
+		Direction direction,
+		CallbackInfoReturnable<Storage<ItemVariant>> cir
+	) {
+		if (direction == Direction.UP) {
+			cir.setReturnValue(ComposterStorage.get(world, pos));
+		}
+	}
+}
@@ -0,0 +1,36 @@
+package org.survivorsunited.mods.compostables.mixin;
+
+import net.minecraft.entity.ai.brain.MemoryModuleType;
+import net.minecraft.entity.ai.brain.task.FarmerWorkTask;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.server.world.ServerWorld;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.survivorsunited.mods.compostables.compost.ComposterUpdates;
+import org.survivorsunited.mods.compostables.villager.FarmerComposting;
+
+/**
+ * Mixin to let farmers compost the extra items they gather
+ * Runs after vanilla's seed composting whenever a farmer works at its job site
+ */
+@Mixin(FarmerWorkTask.class)
+public class FarmerWorkTaskMixin {
+	
+	/**
+	 * Vanilla composts seeds into the job site composter from its live level,
+	 * so apply any level increases still pending there first
+	 */
+	@Inject(method = "performAdditionalWork", at = @At("HEAD"))
+	private void flushJobSiteComposter(ServerWorld world, VillagerEntity entity, CallbackInfo ci) {
+		entity.getBrain().getOptionalRegisteredMemory(MemoryModuleType.JOB_SITE)
+			.filter(jobSite -> jobSite.dimension() == world.getRegistryKey())
+			.ifPresent(jobSite -> ComposterUpdates.flush(world, jobSite.pos()));
+	}
+	
+	@Inject(method = "performAdditionalWork", at = @At("TAIL"))
+	private void depositCompostables(ServerWorld world, VillagerEntity entity, CallbackInfo ci) {
+		FarmerComposting.depositCompostables(world, entity);
+	}
+}
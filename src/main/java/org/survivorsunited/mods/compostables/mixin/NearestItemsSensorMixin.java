@@ -0,0 +1,35 @@
+package org.survivorsunited.mods.compostables.mixin;
+
+import net.minecraft.entity.ai.brain.MemoryModuleType;
+import net.minecraft.entity.ai.brain.sensor.NearestItemsSensor;
+import net.minecraft.entity.mob.MobEntity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.server.world.ServerWorld;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.villager.GatherableItemBuckets;
+
+import java.util.Optional;
+
+/**
+ * Mixin to serve farmers' item pickup scan from shared per-chunk buckets
+ * Other mobs, and farmers when farmerItemBuckets is off, use vanilla's scan
+ */
+@Mixin(NearestItemsSensor.class)
+public class NearestItemsSensorMixin {
+	
+	@Inject(method = "sense", at = @At("HEAD"), cancellable = true)
+	private void senseFromBuckets(ServerWorld world, MobEntity entity, CallbackInfo ci) {
+		if (CompostablesConfig.farmerItemBuckets
+			&& entity instanceof VillagerEntity villager
+			&& GatherableItemBuckets.isFarmer(villager)) {
+			// Same 32 x 16 x 32 search as vanilla
+			entity.getBrain().remember(MemoryModuleType.NEAREST_VISIBLE_WANTED_ITEM,
+				Optional.ofNullable(GatherableItemBuckets.findNearestWanted(world, villager, 32.0, 16.0)));
+			ci.cancel();
+		}
+	}
+}
@@ -0,0 +1,22 @@
+package org.survivorsunited.mods.compostables.mixin;
+
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.item.Item;
+import net.minecraft.village.VillagerProfession;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Mutable;
+import org.spongepowered.asm.mixin.gen.Accessor;
+
+/**
+ * Reads a profession's gatherable items for the item buckets and lets
+ * FarmerGatherables extend the farmer's whenever data is loaded
+ */
+@Mixin(VillagerProfession.class)
+public interface VillagerProfessionAccessor {
+	@Accessor("gatherableItems")
+	ImmutableSet<Item> getGatherableItems();
+
+	@Mutable
+	@Accessor("gatherableItems")
+	void setGatherableItems(ImmutableSet<Item> gatherableItems);
+}
@@ -0,0 +1,38 @@
+package org.survivorsunited.mods.compostables.util;
+
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerWorldEvents;
+import net.minecraft.server.world.ServerWorld;
+
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Lazily created state attached to each loaded server world
+ * Values are dropped when their world unloads. Only touch from the server thread.
+ */
+public final class PerWorld<T> {
+	private final Map<ServerWorld, T> values = new IdentityHashMap<>();
+	private final Function<ServerWorld, T> factory;
+
+	public PerWorld(Function<ServerWorld, T> factory) {
+		this.factory = factory;
+		ServerWorldEvents.UNLOAD.register((server, world) -> values.remove(world));
+	}
+
+	public T get(ServerWorld world) {
+		return values.computeIfAbsent(world, factory);
+	}
+
+	/**
+	 * State for the world if it has been created, without creating it
+	 */
+	public T getIfPresent(ServerWorld world) {
+		return values.get(world);
+	}
+
+	public Collection<T> values() {
+		return values.values();
+	}
+}
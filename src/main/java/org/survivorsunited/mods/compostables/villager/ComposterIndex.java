@@ -0,0 +1,138 @@
+package org.survivorsunited.mods.compostables.villager;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongIterator;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.Blocks;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+import org.jetbrains.annotations.Nullable;
+import org.survivorsunited.mods.compostables.compost.CompostLogic;
+import org.survivorsunited.mods.compostables.compost.ComposterUpdates;
+import org.survivorsunited.mods.compostables.util.PerWorld;
+
+/**
+ * Per-chunk index of composter positions in loaded chunks
+ * Chunks are scanned once on load (sections without composters are skipped
+ * via their palette), placements are added as they happen and broken or
+ * replaced composters are removed through ComposterRemovals. Queries still
+ * skip anything that is no longer a composter, as a safety net.
+ */
+public final class ComposterIndex {
+	private static final PerWorld<Long2ObjectOpenHashMap<LongOpenHashSet>> INDEX = new PerWorld<>(world -> new Long2ObjectOpenHashMap<>());
+
+	private ComposterIndex() {
+	}
+
+	public static void register() {
+		ServerChunkEvents.CHUNK_LOAD.register(ComposterIndex::scanChunk);
+		ServerChunkEvents.CHUNK_UNLOAD.register((world, chunk) -> INDEX.get(world).remove(chunk.getPos().toLong()));
+	}
+
+	/**
+	 * Record a composter placed at the given position
+	 */
+	public static void add(ServerWorld world, BlockPos pos) {
+		INDEX.get(world)
+			.computeIfAbsent(ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4), key -> new LongOpenHashSet())
+			.add(pos.asLong());
+	}
+
+	/**
+	 * Forget a composter that was broken or replaced
+	 */
+	public static void remove(ServerWorld world, BlockPos pos) {
+		Long2ObjectOpenHashMap<LongOpenHashSet> index = INDEX.getIfPresent(world);
+		if (index == null) {
+			return;
+		}
+		long chunk = ChunkPos.toLong(pos.getX() >> 4, pos.getZ() >> 4);
+		LongOpenHashSet composters = index.get(chunk);
+		if (composters != null && composters.remove(pos.asLong()) && composters.isEmpty()) {
+			index.remove(chunk);
+		}
+	}
+
+	/**
+	 * Find the nearest composter within the radius that can still take items
+	 * Only the chunks overlapping the radius are visited.
+	 */
+	@Nullable
+	public static BlockPos findNearestNonFull(ServerWorld world, BlockPos origin, int radius) {
+		Long2ObjectOpenHashMap<LongOpenHashSet> index = INDEX.get(world);
+		BlockPos.Mutable pos = new BlockPos.Mutable();
+		long nearest = 0L;
+		double nearestDistance = (double) radius * radius;
+		boolean found = false;
+
+		for (int chunkX = (origin.getX() - radius) >> 4; chunkX <= (origin.getX() + radius) >> 4; chunkX++) {
+			for (int chunkZ = (origin.getZ() - radius) >> 4; chunkZ <= (origin.getZ() + radius) >> 4; chunkZ++) {
+				LongOpenHashSet composters = index.get(ChunkPos.toLong(chunkX, chunkZ));
+				if (composters == null) {
+					continue;
+				}
+
+				for (LongIterator it = composters.iterator(); it.hasNext(); ) {
+					long packed = it.nextLong();
+					pos.set(packed);
+					double distance = pos.getSquaredDistance(origin);
+					if (distance > nearestDistance) {
+						continue;
+					}
+
+					BlockState state = world.getBlockState(pos);
+					if (!state.isOf(Blocks.COMPOSTER)) {
+						// Changed without a removal callback (e.g. by a mod writing chunk sections directly)
+						it.remove();
+						continue;
+					}
+					if (ComposterUpdates.effectiveLevel(world, pos, state) < CompostLogic.MAX_FILL_LEVEL) {
+						nearest = packed;
+						nearestDistance = distance;
+						found = true;
+					}
+				}
+			}
+		}
+
+		return found ? BlockPos.fromLong(nearest) : null;
+	}
+
+	private static void scanChunk(ServerWorld world, WorldChunk chunk) {
+		LongOpenHashSet composters = null;
+		ChunkSection[] sections = chunk.getSectionArray();
+
+		for (int i = 0; i < sections.length; i++) {
+			ChunkSection section = sections[i];
+			if (section.isEmpty() || !section.hasAny(state -> state.isOf(Blocks.COMPOSTER))) {
+				continue;
+			}
+
+			int baseX = chunk.getPos().getStartX();
+			int baseY = ChunkSectionPos.getBlockCoord(chunk.sectionIndexToCoord(i));
+			int baseZ = chunk.getPos().getStartZ();
+			for (int y = 0; y < 16; y++) {
+				for (int z = 0; z < 16; z++) {
+					for (int x = 0; x < 16; x++) {
+						if (section.getBlockState(x, y, z).isOf(Blocks.COMPOSTER)) {
+							if (composters == null) {
+								composters = new LongOpenHashSet();
+							}
+							composters.add(BlockPos.asLong(baseX + x, baseY + y, baseZ + z));
+						}
+					}
+				}
+			}
+		}
+
+		if (composters != null) {
+			INDEX.get(world).put(chunk.getPos().toLong(), composters);
+		}
+	}
+}
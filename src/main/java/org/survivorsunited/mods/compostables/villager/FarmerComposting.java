@@ -0,0 +1,95 @@
+package org.survivorsunited.mods.compostables.villager;
+
+import net.minecraft.block.BlockState;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.inventory.SimpleInventory;
+import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import org.survivorsunited.mods.compostables.compost.CompostCredit;
+import org.survivorsunited.mods.compostables.compost.CompostLogic;
+import org.survivorsunited.mods.compostables.compost.CompostableTable;
+import org.survivorsunited.mods.compostables.compost.ComposterFeedback;
+import org.survivorsunited.mods.compostables.compost.ComposterUpdates;
+import org.survivorsunited.mods.compostables.config.CompostablesConfig;
+import org.survivorsunited.mods.compostables.journal.CompostJournal;
+import org.survivorsunited.mods.compostables.journal.JournalFormat;
+
+/**
+ * Lets farmers turn the extra compostables they gather into bone meal
+ * While working at their job site, farmers empty the mod's portable
+ * compostables into the nearest composter within reach that isn't full (usually
+ * the job site itself), found through the ComposterIndex rather than a block
+ * scan. Items the compost table gives no chance are kept. Vanilla's own seed
+ * composting and the crops farmers keep for farming and breeding are left alone.
+ */
+public final class FarmerComposting {
+	private FarmerComposting() {
+	}
+
+	/**
+	 * Deposit the villager's compostables into a nearby composter in one visit
+	 */
+	public static void depositCompostables(ServerWorld world, VillagerEntity villager) {
+		if (!CompostablesConfig.farmerComposting || !hasCompostables(villager.getInventory())) {
+			return;
+		}
+
+		BlockPos target = ComposterIndex.findNearestNonFull(world, villager.getBlockPos(), CompostablesConfig.farmerComposterRadius);
+		if (target == null) {
+			return;
+		}
+
+		BlockState state = world.getBlockState(target);
+		int level = ComposterUpdates.effectiveLevel(world, target, state);
+		int gained = 0;
+		SimpleInventory inventory = villager.getInventory();
+
+		// Items are consumed like a hopper insert; each one rolls its own chance
+		for (int slot = 0; slot < inventory.size() && level + gained < CompostLogic.MAX_FILL_LEVEL; slot++) {
+			ItemStack stack = inventory.getStack(slot);
+			if (!isCompostable(stack)) {
+				continue;
+			}
+
+			float chance = CompostableTable.getChance(stack.getItem());
+			int consumed = 0;
+			while (consumed < stack.getCount() && level + gained < CompostLogic.MAX_FILL_LEVEL) {
+				consumed++;
+				boolean success = CompostCredit.roll(world, target, chance, level + gained);
+				if (success) {
+					gained++;
+				}
+				CompostJournal.record(world, target, stack.getItem(), success ? JournalFormat.OUTCOME_SUCCESS : JournalFormat.OUTCOME_FAILURE,
+					success ? 1 : 0, JournalFormat.SOURCE_FARMER, null);
+			}
+			stack.decrement(consumed);
+		}
+
+		ComposterUpdates.addLevels(world, target, state, gained);
+		if (gained > 0) {
+			ComposterFeedback.success(world, target);
+		} else {
+			ComposterFeedback.failure(world, target, null);
+		}
+	}
+
+	private static boolean hasCompostables(SimpleInventory inventory) {
+		for (int slot = 0; slot < inventory.size(); slot++) {
+			if (isCompostable(inventory.getStack(slot))) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * A farmer gatherable the compost table currently gives a chance to
+	 * A datapack can set an entry to 0, which would otherwise eat the stack
+	 * without ever gaining a level.
+	 */
+	private static boolean isCompostable(ItemStack stack) {
+		return FarmerGatherables.compostables().contains(stack.getItem())
+			&& CompostableTable.getChance(stack.getItem()) > 0.0f;
+	}
+}
@@ -0,0 +1,76 @@
+package org.survivorsunited.mods.compostables.villager;
+
+import com.google.common.collect.ImmutableSet;
+import net.minecraft.item.Item;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.Identifier;
+import net.minecraft.village.VillagerProfession;
+import org.jetbrains.annotations.Nullable;
+import org.survivorsunited.mods.compostables.Compostables;
+import org.survivorsunited.mods.compostables.mixin.VillagerProfessionAccessor;
+
+/**
+ * Compostable items that farmer villagers gather in addition to vanilla's set
+ * The set is derived from the compost table: entries marked "farmer": true in
+ * compostable_chances data are gathered by farmers, so the composter chances
+ * and what farmers pick up come from one list and can't drift apart. Only
+ * portable items are marked - soil blocks can't be picked up by villagers.
+ *
+ * CompostableTableLoader hands the resolved set over on every data load. It is
+ * shared by the farmer profession, the item buckets and farmer composting.
+ */
+public final class FarmerGatherables {
+	private static final Identifier FARMER = Identifier.ofVanilla("farmer");
+
+	private static ImmutableSet<Item> compostables = ImmutableSet.of();
+
+	@Nullable
+	private static VillagerProfession farmer;
+	private static ImmutableSet<Item> vanillaGatherables = ImmutableSet.of();
+
+	private FarmerGatherables() {
+	}
+
+	/**
+	 * Find the farmer profession by its registry key and remember its vanilla
+	 * gatherable items, which every data load extends
+	 */
+	public static void register() {
+		// The profession registry is defaulted, so check the ID instead of null
+		if (!Registries.VILLAGER_PROFESSION.containsId(FARMER)) {
+			Compostables.LOGGER.warn("No {} villager profession, farmers won't gather compostables", FARMER);
+			return;
+		}
+		farmer = Registries.VILLAGER_PROFESSION.get(FARMER);
+		vanillaGatherables = ((VillagerProfessionAccessor) (Object) farmer).getGatherableItems();
+	}
+
+	/**
+	 * Replace the compostables farmers gather with a freshly resolved set
+	 * Must be called on the server thread. Without a registered farmer (as in
+	 * the benchmarks) only the shared set is updated.
+	 */
+	public static void apply(ImmutableSet<Item> items) {
+		compostables = items;
+		if (farmer != null) {
+			((VillagerProfessionAccessor) (Object) farmer).setGatherableItems(withCompostables(vanillaGatherables));
+		}
+	}
+
+	/**
+	 * The portable compostables added to the farmer's gatherable items
+	 */
+	public static ImmutableSet<Item> compostables() {
+		return compostables;
+	}
+
+	/**
+	 * Extend a farmer's gatherable items with the mod's portable compostables
+	 */
+	public static ImmutableSet<Item> withCompostables(ImmutableSet<Item> gatherableItems) {
+		return ImmutableSet.<Item>builder()
+			.addAll(gatherableItems)
+			.addAll(compostables)
+			.build();
+	}
+}
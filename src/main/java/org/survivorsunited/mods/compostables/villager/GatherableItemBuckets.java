@@ -0,0 +1,144 @@
+package org.survivorsunited.mods.compostables.villager;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerEntityEvents;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.ItemEntity;
+import net.minecraft.entity.passive.VillagerEntity;
+import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.village.VillagerProfession;
+import org.jetbrains.annotations.Nullable;
+import org.survivorsunited.mods.compostables.compat.VersionCompat;
+import org.survivorsunited.mods.compostables.mixin.VillagerProfessionAccessor;
+import org.survivorsunited.mods.compostables.util.PerWorld;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-tick, per-chunk buckets of item entities that farmers may want
+ * Each chunk column's bucket is built by the first farmer that looks at it in a
+ * tick and shared by every other farmer nearby, so hundreds of farmers next to a
+ * collection line no longer each query and test every item entity in range.
+ *
+ * Buckets are kept per profession, since they hold the items that profession
+ * gathers, and items spawned later in the tick are added to the buckets
+ * already built for their chunk. Whether a particular villager can take an
+ * item (inventory space included) is still checked per villager.
+ */
+public final class GatherableItemBuckets {
+	private static final Identifier FARMER = Identifier.ofVanilla("farmer");
+	private static final PerWorld<Buckets> BUCKETS = new PerWorld<>(world -> new Buckets());
+
+	// Server thread only; reused between queries
+	private static final List<ItemEntity> candidates = new ArrayList<>();
+
+	private static final class Buckets {
+		private final Reference2ObjectOpenHashMap<VillagerProfession, Long2ObjectOpenHashMap<List<ItemEntity>>> byProfession = new Reference2ObjectOpenHashMap<>();
+		private long tick = Long.MIN_VALUE;
+	}
+
+	private GatherableItemBuckets() {
+	}
+
+	public static void register() {
+		ServerEntityEvents.ENTITY_LOAD.register(GatherableItemBuckets::addSpawnedItem);
+	}
+
+	/**
+	 * Whether the villager is a farmer, the only profession these buckets serve
+	 */
+	public static boolean isFarmer(VillagerEntity villager) {
+		return FARMER.equals(Registries.VILLAGER_PROFESSION.getId(VersionCompat.profession(villager)));
+	}
+
+	/**
+	 * Find the nearest visible item entity the farmer can gather, with the same
+	 * range and ordering as vanilla's nearest-items sensor
+	 */
+	@Nullable
+	public static ItemEntity findNearestWanted(ServerWorld world, VillagerEntity villager, double horizontalRange, double verticalRange) {
+		Box box = villager.getBoundingBox().expand(horizontalRange, verticalRange, horizontalRange);
+		VillagerProfession profession = VersionCompat.profession(villager);
+		candidates.clear();
+
+		for (int chunkX = ChunkPos.toChunkCoord(box.minX); chunkX <= ChunkPos.toChunkCoord(box.maxX); chunkX++) {
+			for (int chunkZ = ChunkPos.toChunkCoord(box.minZ); chunkZ <= ChunkPos.toChunkCoord(box.maxZ); chunkZ++) {
+				for (ItemEntity item : bucket(world, profession, chunkX, chunkZ)) {
+					if (!item.isRemoved()
+						&& box.intersects(item.getBoundingBox())
+						&& item.isInRange(villager, horizontalRange)
+						&& VersionCompat.canGather(world, villager, item.getStack())) {
+						candidates.add(item);
+					}
+				}
+			}
+		}
+
+		// Line of sight is the expensive check, so test nearest first and stop at the first hit
+		candidates.sort(Comparator.comparingDouble(villager::squaredDistanceTo));
+		for (ItemEntity item : candidates) {
+			if (villager.canSee(item)) {
+				candidates.clear();
+				return item;
+			}
+		}
+		candidates.clear();
+		return null;
+	}
+
+	private static List<ItemEntity> bucket(ServerWorld world, VillagerProfession profession, int chunkX, int chunkZ) {
+		Buckets buckets = BUCKETS.get(world);
+		long now = world.getTime();
+		if (buckets.tick != now) {
+			buckets.byProfession.clear();
+			buckets.tick = now;
+		}
+
+		Long2ObjectOpenHashMap<List<ItemEntity>> byChunk = buckets.byProfession.computeIfAbsent(profession, key -> new Long2ObjectOpenHashMap<>());
+		long key = ChunkPos.toLong(chunkX, chunkZ);
+		List<ItemEntity> bucket = byChunk.get(key);
+		if (bucket == null) {
+			Box column = new Box(
+				chunkX << 4, world.getBottomY(), chunkZ << 4,
+				(chunkX << 4) + 16, world.getBottomY() + world.getHeight(), (chunkZ << 4) + 16);
+			bucket = new ArrayList<>(world.getEntitiesByClass(ItemEntity.class, column, item -> isGatherable(profession, item.getStack())));
+			byChunk.put(key, bucket);
+		}
+		return bucket;
+	}
+
+	/**
+	 * Adds an item entity that appears after this tick's buckets for its chunk were built
+	 */
+	private static void addSpawnedItem(Entity entity, ServerWorld world) {
+		if (!(entity instanceof ItemEntity item)) {
+			return;
+		}
+		Buckets buckets = BUCKETS.getIfPresent(world);
+		if (buckets == null || buckets.tick != world.getTime()) {
+			return;
+		}
+
+		long key = item.getChunkPos().toLong();
+		for (Map.Entry<VillagerProfession, Long2ObjectOpenHashMap<List<ItemEntity>>> entry : buckets.byProfession.entrySet()) {
+			List<ItemEntity> bucket = entry.getValue().get(key);
+			if (bucket != null && isGatherable(entry.getKey(), item.getStack())) {
+				bucket.add(item);
+			}
+		}
+	}
+
+	private static boolean isGatherable(VillagerProfession profession, ItemStack stack) {
+		return VersionCompat.villagersPickUp(stack)
+			|| ((VillagerProfessionAccessor) (Object) profession).getGatherableItems().contains(stack.getItem());
+	}
+}